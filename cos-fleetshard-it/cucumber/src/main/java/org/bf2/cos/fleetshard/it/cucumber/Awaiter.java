@@ -22,6 +22,15 @@ public class Awaiter {
             .until(conditionEvaluator);
     }
 
+    public void during(long duration, Callable<Boolean> conditionEvaluator) {
+        Awaitility.await()
+            .during(duration, TimeUnit.MILLISECONDS)
+            .atMost(atMost + duration, TimeUnit.MILLISECONDS)
+            .pollDelay(pollDelay, TimeUnit.MILLISECONDS)
+            .pollInterval(pollInterval, TimeUnit.MILLISECONDS)
+            .until(conditionEvaluator);
+    }
+
     public void untilAsserted(ThrowingRunnable conditionEvaluator) {
         Awaitility.await()
             .atMost(atMost, TimeUnit.MILLISECONDS)
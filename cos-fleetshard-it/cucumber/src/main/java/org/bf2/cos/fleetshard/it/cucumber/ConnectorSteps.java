@@ -38,6 +38,7 @@ import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
@@ -399,6 +400,50 @@ public class ConnectorSteps {
                 }));
     }
 
+    @When("the connector secret is owned by the connector")
+    public void connector_secret_is_owned_by_the_connector() {
+        final ManagedConnector connector = kubernetesClient.resources(ManagedConnector.class)
+            .inNamespace(ctx.connector().getMetadata().getNamespace())
+            .withName(ctx.connector().getMetadata().getName())
+            .get();
+
+        assertThat(connector).isNotNull();
+
+        ctx.secret(
+            kubernetesClient.resources(Secret.class)
+                .inNamespace(ctx.secret().getMetadata().getNamespace())
+                .withName(ctx.secret().getMetadata().getName())
+                .edit(res -> {
+                    res.getMetadata().setOwnerReferences(List.of(
+                        new OwnerReferenceBuilder()
+                            .withApiVersion(connector.getApiVersion())
+                            .withKind(connector.getKind())
+                            .withName(connector.getMetadata().getName())
+                            .withUid(connector.getMetadata().getUid())
+                            .build()));
+                    return res;
+                }));
+    }
+
+    @When("the connector secret is bound to the connector unit of work")
+    public void connector_secret_is_bound_to_the_connector_uow() {
+        final ManagedConnector connector = kubernetesClient.resources(ManagedConnector.class)
+            .inNamespace(ctx.connector().getMetadata().getNamespace())
+            .withName(ctx.connector().getMetadata().getName())
+            .get();
+
+        assertThat(connector).isNotNull();
+
+        ctx.secret(
+            kubernetesClient.resources(Secret.class)
+                .inNamespace(ctx.secret().getMetadata().getNamespace())
+                .withName(ctx.secret().getMetadata().getName())
+                .edit(res -> {
+                    Resources.setLabel(res, Resources.LABEL_UOW, connector.getSpec().getDeployment().getUnitOfWork());
+                    return res;
+                }));
+    }
+
     @Then("the connector's assignedOperator exists with:")
     public void connector_assignedOperator_exists_with(Map<String, String> expected) {
         untilConnector(c -> {
@@ -105,6 +105,18 @@ public class MicrometerSteps extends StepsSupport {
             .satisfies(counter -> assertThat(counter.count()).isEqualTo(counters.get(name)));
     }
 
+    @Then("the meters value of counter {string} has not changed for {int} ms")
+    public void counter_valueHasNotChangedDuring(String name, int duration) {
+        awaiter.during(duration, () -> {
+            Counter counter = registry.find(name).counter();
+            if (counter == null) {
+                return false;
+            }
+
+            return counter.count() == counters.get(name);
+        });
+    }
+
     @And("the meters has counter with name {string} and tag {string}")
     public void counter_existsWithTag(String name, String tagName) {
         assertThat(registry.find(name).tagKeys(tagName).counter())
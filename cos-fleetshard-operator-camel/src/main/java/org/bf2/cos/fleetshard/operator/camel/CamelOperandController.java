@@ -15,6 +15,7 @@ import org.bf2.cos.fleetshard.operator.camel.model.KameletBindingSpec;
 import org.bf2.cos.fleetshard.operator.camel.model.KameletEndpoint;
 import org.bf2.cos.fleetshard.operator.connector.ConnectorConfiguration;
 import org.bf2.cos.fleetshard.operator.operand.AbstractOperandController;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.bf2.cos.fleetshard.support.resources.Secrets;
 import org.slf4j.Logger;
@@ -264,8 +265,8 @@ public class CamelOperandController extends AbstractOperandController<CamelShard
     }
 
     @Override
-    public void status(ManagedConnector connector) {
-        lookupBinding(getKubernetesClient(), connector).ifPresent(
+    public void status(ManagedConnector connector, OperandResourceCache resources) {
+        lookupBinding(resources, connector).ifPresent(
             klb -> computeStatus(connector.getStatus().getConnectorStatus(), klb.getStatus()));
     }
 
@@ -22,13 +22,13 @@ import org.bf2.cos.fleetshard.operator.camel.model.KameletBinding;
 import org.bf2.cos.fleetshard.operator.camel.model.KameletBindingStatus;
 import org.bf2.cos.fleetshard.operator.camel.model.KameletEndpoint;
 import org.bf2.cos.fleetshard.operator.connector.ConnectorConfiguration;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.fabric8.kubernetes.api.model.Condition;
-import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.utils.Serialization;
 
 import static org.bf2.cos.fleetshard.operator.camel.CamelConstants.CONNECTOR_TYPE_SINK;
@@ -367,12 +367,8 @@ public final class CamelOperandSupport {
         return integration;
     }
 
-    public static Optional<KameletBinding> lookupBinding(KubernetesClient client, ManagedConnector connector) {
-        return Optional.ofNullable(
-            client.resources(KameletBinding.class)
-                .inNamespace(connector.getMetadata().getNamespace())
-                .withName(connector.getMetadata().getName())
-                .get());
+    public static Optional<KameletBinding> lookupBinding(OperandResourceCache resources, ManagedConnector connector) {
+        return resources.get(KameletBinding.class, connector);
     }
 
     public static void computeStatus(ConnectorStatusSpec statusSpec, KameletBindingStatus kameletBindingStatus) {
@@ -14,6 +14,7 @@ import org.bf2.cos.fleetshard.operator.debezium.model.DebeziumDataShape;
 import org.bf2.cos.fleetshard.operator.debezium.model.KafkaConnectorStatus;
 import org.bf2.cos.fleetshard.operator.debezium.model.KeyAndValueConverters;
 import org.bf2.cos.fleetshard.operator.operand.AbstractOperandController;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.bf2.cos.fleetshard.support.resources.Secrets;
 import org.slf4j.Logger;
@@ -163,8 +164,8 @@ public class DebeziumOperandController extends AbstractOperandController<Debeziu
     }
 
     @Override
-    public void status(ManagedConnector connector) {
-        lookupConnector(getKubernetesClient(), connector)
+    public void status(ManagedConnector connector, OperandResourceCache resources) {
+        lookupConnector(resources, connector)
             .filter(kc -> kc.getStatus() != null)
             .ifPresent(kbs -> computeStatus(connector.getStatus().getConnectorStatus(), kbs));
     }
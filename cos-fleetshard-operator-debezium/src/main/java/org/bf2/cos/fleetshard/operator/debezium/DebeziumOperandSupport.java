@@ -12,6 +12,7 @@ import org.bf2.cos.fleetshard.api.ConnectorStatusSpec;
 import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.api.ResourceRef;
 import org.bf2.cos.fleetshard.operator.debezium.model.KafkaConnectorStatus;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -140,6 +141,10 @@ public class DebeziumOperandSupport {
                 .get());
     }
 
+    public static Optional<KafkaConnector> lookupConnector(OperandResourceCache resources, ManagedConnector connector) {
+        return resources.get(KafkaConnector.class, connector);
+    }
+
     public static void computeStatus(ConnectorStatusSpec statusSpec, KafkaConnector kafkaConnector) {
         statusSpec.setConditions(new ArrayList<>());
 
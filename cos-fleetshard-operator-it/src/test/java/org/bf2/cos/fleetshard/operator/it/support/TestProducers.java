@@ -12,6 +12,7 @@ import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorBuilder;
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorSpecBuilder;
 import org.bf2.cos.fleetshard.operator.operand.OperandController;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.bf2.cos.fleetshard.support.resources.Secrets;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -62,7 +63,7 @@ public class TestProducers {
             }
 
             @Override
-            public void status(ManagedConnector connector) {
+            public void status(ManagedConnector connector, OperandResourceCache resources) {
                 connector.getStatus().getConnectorStatus().setPhase(ManagedConnector.STATE_READY);
             }
 
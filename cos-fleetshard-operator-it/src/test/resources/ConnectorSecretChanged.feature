@@ -0,0 +1,28 @@
+Feature: Connector Secret Changed
+
+  Background:
+    Given Await configuration
+      | atMost       | 30000   |
+      | pollDelay    | 100     |
+      | pollInterval | 500     |
+
+  Scenario: secret events are mapped to the owning connector
+    Given a Connector with:
+      | connector.type.id           | log_sink_0.1                    |
+      | desired.state               | ready                           |
+      | kafka.bootstrap             | kafka.acme.com:443              |
+      | operator.id                 | cos-fleetshard-operator-it      |
+      | operator.type               | connector-operator-it           |
+      | operator.version            | [1.0.0,2.0.0)                   |
+
+    When deploy connector
+     And deploy secret
+    Then the connector exists
+     And the connector secret exists
+     And the connector is in phase "Augmentation"
+
+    When the connector secret is owned by the connector
+     And the connector secret is bound to the connector unit of work
+    Then the connector is in phase "Monitor"
+     And the deployment is in phase "ready"
+     And the meters has counter with name "cos.fleetshard.controller.event.secrets.count"
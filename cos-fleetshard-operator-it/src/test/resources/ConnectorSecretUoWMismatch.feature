@@ -21,4 +21,12 @@ Feature: Connector Secret UoW Mismatch
     Then the connector exists
      And the connector secret exists
      And the connector is in phase "Augmentation"
-     And the meters does not have any counter with name "cos.fleetshard.controller.connectors.reconcile.monitor.count"
\ No newline at end of file
+     And the meters does not have any counter with name "cos.fleetshard.controller.connectors.reconcile.monitor.count"
+
+    # the connector is not reconciled again until the secret is bound to the connector unit of work
+    Then wait till the connector has entry in history with conditions:
+       | type         | reason            | status |
+       | Augmentation | SecretUoWMismatch | False  |
+     And save the meters value of counter "cos.fleetshard.controller.connectors.reconcile.augmentation.count"
+     And the meters value of counter "cos.fleetshard.controller.connectors.reconcile.augmentation.count" has not changed for 3000 ms
+     And the connector is in phase "Augmentation"
\ No newline at end of file
@@ -4,11 +4,14 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
+import org.bf2.cos.fleetshard.operator.client.FleetShardClient;
+import org.bf2.cos.fleetshard.support.StartupPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.javaoperatorsdk.operator.Operator;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @ApplicationScoped
 public class FleetShardOperator {
@@ -22,6 +25,10 @@ public class FleetShardOperator {
     Operator operator;
     @Inject
     FleetShardOperatorConfig config;
+    @Inject
+    FleetShardClient fleetShard;
+    @Inject
+    MeterRegistry registry;
 
     public void start() {
         LOGGER.info("Starting operator (id: {}, type: {}, version: {})",
@@ -29,11 +36,20 @@ public class FleetShardOperator {
             managedConnectorOperator.getSpec().getType(),
             managedConnectorOperator.getSpec().getVersion());
 
-        client.resources(ManagedConnectorOperator.class)
-            .inNamespace(config.operators().namespace())
-            .createOrReplace(managedConnectorOperator);
-
-        operator.start();
+        // registering the operator and syncing the registry are performed concurrently, but the controllers must only
+        // start once both have completed, so this operator is known when connectors are assigned and operators looked up
+        new StartupPipeline("operator")
+            .phase("register", () -> {
+                client.resources(ManagedConnectorOperator.class)
+                    .inNamespace(config.operators().namespace())
+                    .createOrReplace(managedConnectorOperator);
+            })
+            .phase("registry", () -> {
+                fleetShard.start();
+                fleetShard.waitForSync(config.startup().syncTimeout());
+            })
+            .phase("controllers", operator::start, "register", "registry")
+            .run(registry, config.metrics().baseName() + ".startup");
     }
 
     public void stop() {
@@ -43,5 +59,6 @@ public class FleetShardOperator {
             managedConnectorOperator.getSpec().getVersion());
 
         operator.stop();
+        fleetShard.stop();
     }
 }
@@ -1,12 +1,15 @@
 package org.bf2.cos.fleetshard.operator;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
 
 import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
+import org.bf2.cos.fleetshard.support.DurationConverter;
 
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 
 @ConfigMapping(prefix = "cos")
@@ -39,6 +42,25 @@ public interface FleetShardOperatorConfig {
      */
     Metrics metrics();
 
+    /**
+     * Configuration options for the startup.
+     *
+     * @return {@link Startup}
+     */
+    Startup startup();
+
+    interface Startup {
+        /**
+         * Determine how long the startup waits for the operator registry to be synced with the cluster, before the
+         * controllers are started.
+         *
+         * @return the timeout.
+         */
+        @WithDefault("60s")
+        @WithConverter(DurationConverter.class)
+        Duration syncTimeout();
+    }
+
     interface Operator {
         /**
          * The ID assigned to the operator.
@@ -1,20 +1,24 @@
 package org.bf2.cos.fleetshard.operator.client;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.bf2.cos.fleetshard.api.ManagedConnector;
-import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
 import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelector;
 import org.bf2.cos.fleetshard.operator.FleetShardOperatorConfig;
+import org.bf2.cos.fleetshard.support.OperatorRegistry;
 
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @ApplicationScoped
 public class FleetShardClient {
@@ -23,6 +27,37 @@ public class FleetShardClient {
     KubernetesClient kubernetesClient;
     @Inject
     FleetShardOperatorConfig config;
+    @Inject
+    MeterRegistry registry;
+
+    private volatile OperatorRegistry operators;
+
+    public void start() {
+        operators = new OperatorRegistry(kubernetesClient, getOperatorNamespace());
+        operators.registerMetrics(registry, config.metrics().baseName() + ".operators.registry");
+        operators.start();
+    }
+
+    public void stop() {
+        if (operators != null) {
+            operators.stop();
+        }
+    }
+
+    /**
+     * Wait for the operator registry to be populated, so operators can be looked up as soon as connectors are reconciled.
+     *
+     * @param  timeout              how long to wait.
+     * @throws TimeoutException     if the registry has not synced within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void waitForSync(Duration timeout) throws TimeoutException, InterruptedException {
+        if (operators == null) {
+            throw new IllegalStateException("Operator registry must be started before waiting for it to sync");
+        }
+
+        operators.waitForSync(timeout);
+    }
 
     public String getConnectorsNamespace() {
         return config.connectors().namespace();
@@ -37,16 +72,19 @@ public class FleetShardClient {
     }
 
     public List<Operator> lookupOperators() {
-        return kubernetesClient.customResources(ManagedConnectorOperator.class)
-            .inNamespace(getOperatorNamespace())
-            .list()
-            .getItems()
-            .stream()
-            .map(mco -> new Operator(
-                mco.getMetadata().getName(),
-                mco.getSpec().getType(),
-                mco.getSpec().getVersion()))
-            .collect(Collectors.toList());
+        if (operators == null) {
+            throw new IllegalStateException("Operator registry must be started before looking up operators");
+        }
+
+        return operators.list();
+    }
+
+    public Optional<Operator> availableOperator(OperatorSelector selector) {
+        if (operators == null) {
+            throw new IllegalStateException("Operator registry must be started before looking up operators");
+        }
+
+        return operators.available(selector);
     }
 
     public List<ManagedConnector> lookupManagedConnectors() {
@@ -26,7 +26,9 @@ import org.bf2.cos.fleetshard.operator.FleetShardOperatorConfig;
 import org.bf2.cos.fleetshard.operator.client.FleetShardClient;
 import org.bf2.cos.fleetshard.operator.operand.OperandController;
 import org.bf2.cos.fleetshard.operator.operand.OperandControllerMetricsWrapper;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceCache;
 import org.bf2.cos.fleetshard.operator.operand.OperandResourceWatcher;
+import org.bf2.cos.fleetshard.operator.operand.OperandResourceWatcherCache;
 import org.bf2.cos.fleetshard.operator.support.AbstractResourceController;
 import org.bf2.cos.fleetshard.support.exceptions.WrappedRuntimeException;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
@@ -36,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import io.fabric8.kubernetes.api.model.Condition;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
@@ -66,7 +69,6 @@ import static org.bf2.cos.fleetshard.api.ManagedConnector.STATE_PROVISIONING;
 import static org.bf2.cos.fleetshard.api.ManagedConnector.STATE_STOPPED;
 import static org.bf2.cos.fleetshard.api.ManagedConnectorConditions.hasCondition;
 import static org.bf2.cos.fleetshard.api.ManagedConnectorConditions.setCondition;
-import static org.bf2.cos.fleetshard.support.OperatorSelectorUtil.available;
 import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_CLUSTER_ID;
 import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_CONNECTOR_ID;
 import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_CONNECTOR_OPERATOR;
@@ -107,7 +109,11 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
     FleetShardOperatorConfig config;
 
     private OperandController operandController;
+    private ConnectorSecretEventSource secrets;
+    private OperandResourceCache resources;
     private List<Tag> tags;
+    private Counter statusUpdated;
+    private Counter statusSuppressed;
 
     @PostConstruct
     protected void setUp() {
@@ -123,28 +129,38 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
         } else {
             operandController = wrappedOperandController;
         }
+
+        this.statusUpdated = Counter.builder(config.metrics().baseName() + ".controller.connectors.status.updated")
+            .tags(tags)
+            .register(registry);
+        this.statusSuppressed = Counter.builder(config.metrics().baseName() + ".controller.connectors.status.suppressed")
+            .tags(tags)
+            .register(registry);
     }
 
     @Override
     public List<EventSource> prepareEventSources(EventSourceContext context) {
+        secrets = new ConnectorSecretEventSource(
+            kubernetesClient,
+            managedConnectorOperator,
+            fleetShard.getConnectorsNamespace(),
+            MetricsRecorder.of(registry, config.metrics().baseName() + ".controller.event.secrets", tags));
+
         var eventSources = new ArrayList<EventSource>();
-        eventSources.add(
-            new ConnectorSecretEventSource(
-                kubernetesClient,
-                managedConnectorOperator,
-                fleetShard.getConnectorsNamespace(),
-                MetricsRecorder.of(registry, config.metrics().baseName() + ".controller.event.secrets", tags)));
+        eventSources.add(secrets);
         eventSources.add(
             new ConnectorOperatorEventSource(
                 kubernetesClient,
                 managedConnectorOperator,
                 fleetShard.getOperatorNamespace(),
                 fleetShard.getConnectorsNamespace(),
+                config.startup().syncTimeout(),
                 MetricsRecorder.of(registry, config.metrics().baseName() + ".controller.event.operators", tags)));
 
+        var watchers = new ArrayList<OperandResourceWatcher>();
         for (ResourceDefinitionContext res : operandController.getResourceTypes()) {
             final String id = res.getGroup() + "-" + res.getVersion() + "-" + res.getKind();
-            eventSources.add(
+            watchers.add(
                 new OperandResourceWatcher(
                     id,
                     kubernetesClient,
@@ -154,6 +170,16 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
                     MetricsRecorder.of(registry, id, tags)));
         }
 
+        eventSources.addAll(watchers);
+
+        // the operand status is extracted from the resources cached by the watchers
+        resources = new OperandResourceWatcherCache(
+            kubernetesClient,
+            watchers,
+            registry,
+            config.metrics().baseName() + ".controller.operand.cache",
+            tags);
+
         return eventSources;
     }
 
@@ -387,10 +413,15 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
             return UpdateControl.noUpdate();
         }
 
-        Secret secret = kubernetesClient.secrets()
-            .inNamespace(fleetShard.getConnectorsNamespace())
-            .withName(connector.getSpec().getDeployment().getSecret())
-            .get();
+        final String secretName = connector.getSpec().getDeployment().getSecret();
+        final String connectorUow = connector.getSpec().getDeployment().getUnitOfWork();
+
+        // the secrets are cached by the secret event source, the API server is only hit if the secret is not known yet
+        Secret secret = secrets.getSecret(secretName)
+            .orElseGet(() -> kubernetesClient.secrets()
+                .inNamespace(fleetShard.getConnectorsNamespace())
+                .withName(secretName)
+                .get());
 
         if (secret == null) {
             boolean retry = hasCondition(
@@ -421,7 +452,6 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
                 return UpdateControl.<ManagedConnector> noUpdate().rescheduleAfter(1500, TimeUnit.MILLISECONDS);
             }
         } else {
-            final String connectorUow = connector.getSpec().getDeployment().getUnitOfWork();
             final String secretUow = secret.getMetadata().getLabels().get(Resources.LABEL_UOW);
 
             if (!Objects.equals(connectorUow, secretUow)) {
@@ -450,7 +480,8 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
 
                     return UpdateControl.updateStatus(connector);
                 } else {
-                    return UpdateControl.<ManagedConnector> noUpdate().rescheduleAfter(1500, TimeUnit.MILLISECONDS);
+                    // an update of the secret triggers a new reconcile through the secret event source
+                    return UpdateControl.noUpdate();
                 }
             }
         }
@@ -559,15 +590,16 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
     }
 
     private UpdateControl<ManagedConnector> handleMonitor(ManagedConnector connector) {
-        operandController.status(connector);
+        final ManagedConnectorStatus observed = normalize(connector.getStatus());
+
+        operandController.status(connector, resources);
 
         //
         // Search for newly installed ManagedOperators
         //
-        final List<Operator> operators = fleetShard.lookupOperators();
         final Operator assignedOperator = connector.getStatus().getConnectorStatus().getAssignedOperator();
         final Operator availableOperator = connector.getStatus().getConnectorStatus().getAvailableOperator();
-        final Optional<Operator> selected = available(connector.getSpec().getOperatorSelector(), operators);
+        final Optional<Operator> selected = fleetShard.availableOperator(connector.getSpec().getOperatorSelector());
 
         if (selected.isPresent()) {
             Operator selectedInstance = selected.get();
@@ -587,6 +619,20 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
             connector.getStatus().getConnectorStatus().setAvailableOperator(new Operator());
         }
 
+        //
+        // Writing an unchanged status would only trigger another reconcile loop as the
+        // controller is not generation aware, so the write is skipped
+        //
+        if (observed.equals(normalize(connector.getStatus()))) {
+            LOGGER.debug("Status of connector {}/{} unchanged, skipping update",
+                connector.getMetadata().getNamespace(),
+                connector.getMetadata().getName());
+
+            statusSuppressed.increment();
+            return UpdateControl.noUpdate();
+        }
+
+        statusUpdated.increment();
         return UpdateControl.updateStatus(connector);
     }
 
@@ -816,6 +862,28 @@ public class ConnectorController extends AbstractResourceController<ManagedConne
         return spec.getDeployment().getDeploymentResourceVersion();
     }
 
+    /**
+     * Take a deep copy of the status of a connector that can be compared with {@link Object#equals(Object)}, the
+     * transition time of the conditions is cleared as it is refreshed by the operands without any actual change.
+     */
+    static ManagedConnectorStatus normalize(ManagedConnectorStatus status) {
+        final ManagedConnectorStatus answer = Serialization.jsonMapper().convertValue(status, ManagedConnectorStatus.class);
+
+        clearTransitionTime(answer.getConditions());
+
+        if (answer.getConnectorStatus() != null) {
+            clearTransitionTime(answer.getConnectorStatus().getConditions());
+        }
+
+        return answer;
+    }
+
+    private static void clearTransitionTime(List<Condition> conditions) {
+        if (conditions != null) {
+            conditions.forEach(condition -> condition.setLastTransitionTime(null));
+        }
+    }
+
     private boolean isResync(ManagedConnector connector) {
         return hasCondition(
             connector,
@@ -1,49 +1,76 @@
 package org.bf2.cos.fleetshard.operator.connector;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
 
-import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
-import org.bf2.cos.fleetshard.api.Version;
-import org.bf2.cos.fleetshard.operator.support.InstrumentedWatcherEventSource;
+import org.bf2.cos.fleetshard.operator.support.InstrumentedSharedInformerEventSource;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.javaoperatorsdk.operator.processing.event.Event;
-import io.javaoperatorsdk.operator.processing.event.ResourceID;
 
-public class ConnectorOperatorEventSource extends InstrumentedWatcherEventSource<ManagedConnectorOperator> {
+public class ConnectorOperatorEventSource extends InstrumentedSharedInformerEventSource<ManagedConnectorOperator> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorOperatorEventSource.class);
 
     private final ManagedConnectorOperator operator;
     private final String operatorsNamespace;
-    private final String connectorsNamespace;
+    private final ConnectorOperatorIndex index;
+    private final Duration syncTimeout;
 
     public ConnectorOperatorEventSource(
         KubernetesClient kubernetesClient,
         ManagedConnectorOperator operator,
         String operatorsNamespace,
         String connectorsNamespace,
+        Duration syncTimeout,
         MetricsRecorder recorder) {
 
         super(kubernetesClient, recorder);
 
         this.operator = operator;
+        this.syncTimeout = syncTimeout;
         this.operatorsNamespace = operatorsNamespace;
-        this.connectorsNamespace = connectorsNamespace;
+        this.index = new ConnectorOperatorIndex(kubernetesClient, connectorsNamespace, operator.getSpec().getType());
     }
 
     @Override
-    protected Watch doWatch() {
+    public void start() {
+        // the index must be populated before operator events are received, as the initial list of operators is
+        // delivered as soon as the informer starts
+        index.start();
+
+        try {
+            index.waitForSync(syncTimeout);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Failure waiting for the connector index to sync", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the connector index to sync", e);
+        }
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        index.stop();
+    }
+
+    @Override
+    protected SharedIndexInformer<ManagedConnectorOperator> doInform() {
         return getClient()
             .resources(ManagedConnectorOperator.class)
             .inNamespace(operatorsNamespace)
             .withLabel(Resources.LABEL_OPERATOR_TYPE, operator.getSpec().getType())
-            .watch(this);
+            .inform(this);
     }
 
     @Override
@@ -53,28 +80,11 @@ public class ConnectorOperatorEventSource extends InstrumentedWatcherEventSource
             resource.getMetadata().getNamespace(),
             resource.getMetadata().getName());
 
-        getClient()
-            .resources(ManagedConnector.class)
-            .inNamespace(connectorsNamespace)
-            .withLabel(Resources.LABEL_OPERATOR_TYPE, resource.getSpec().getType())
-            .list().getItems().stream()
-            .filter(mc -> mc.getStatus() != null)
-            .filter(mc -> mc.getStatus().getConnectorStatus().getAssignedOperator() != null)
-            .filter(mc -> isSameOperatorType(resource, mc))
-            .filter(mc -> hasGreaterOperatorVersion(resource, mc))
-            .map(ResourceID::fromResource)
-            .forEach(resourceId -> getEventHandler().handleEvent(new Event(resourceId)));
-    }
+        if (!Objects.equals(index.getOperatorType(), resource.getSpec().getType())) {
+            return;
+        }
 
-    private boolean isSameOperatorType(ManagedConnectorOperator resource, ManagedConnector mc) {
-        return Objects.equals(resource.getSpec().getType(),
-            mc.getStatus().getConnectorStatus().getAssignedOperator().getType());
-    }
-
-    private boolean hasGreaterOperatorVersion(ManagedConnectorOperator resource, ManagedConnector mc) {
-        final var rv = new Version(resource.getSpec().getVersion());
-        final var cv = new Version(mc.getStatus().getConnectorStatus().getAssignedOperator().getVersion());
-        return rv.compareTo(cv) > 0;
+        index.olderThan(resource.getSpec().getVersion())
+            .forEach(resourceId -> getEventHandler().handleEvent(new Event(resourceId)));
     }
-
 }
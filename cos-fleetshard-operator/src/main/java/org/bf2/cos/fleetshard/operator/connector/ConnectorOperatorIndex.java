@@ -0,0 +1,172 @@
+package org.bf2.cos.fleetshard.operator.connector;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.Version;
+import org.bf2.cos.fleetshard.support.resources.Resources;
+import org.bf2.cos.fleetshard.support.watch.Informers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+
+/**
+ * An informer backed index of the {@link ManagedConnector} assigned to an operator type, sorted by the version of the
+ * operator they are assigned to.
+ * </p>
+ * The version of the assigned operator is parsed once per change of the connector, so finding the connectors that could
+ * be upgraded when an operator is installed or updated does not require any call to the API server nor any version
+ * parsing.
+ */
+public class ConnectorOperatorIndex implements ResourceEventHandler<ManagedConnector> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorOperatorIndex.class);
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final String operatorType;
+    private final Map<String, Version> versions;
+    private final Map<ResourceID, Version> assignments;
+    private final NavigableMap<Version, Set<ResourceID>> byVersion;
+
+    private volatile SharedIndexInformer<ManagedConnector> informer;
+
+    public ConnectorOperatorIndex(KubernetesClient client, String namespace, String operatorType) {
+        this.client = client;
+        this.namespace = namespace;
+        this.operatorType = operatorType;
+        this.versions = new ConcurrentHashMap<>();
+        this.assignments = new HashMap<>();
+        this.byVersion = new TreeMap<>();
+    }
+
+    public void start() {
+        LOGGER.info("Starting connector index (namespace: {}, operator type: {})", namespace, operatorType);
+
+        informer = client.resources(ManagedConnector.class)
+            .inNamespace(namespace)
+            .withLabel(Resources.LABEL_OPERATOR_TYPE, operatorType)
+            .inform(this);
+    }
+
+    /**
+     * Wait for the index to be populated with the connectors known when it has been started.
+     *
+     * @param  timeout              how long to wait.
+     * @throws TimeoutException     if the informer has not synced within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void waitForSync(Duration timeout) throws TimeoutException, InterruptedException {
+        if (informer == null) {
+            throw new IllegalStateException("Index must be started before waiting for it to sync");
+        }
+
+        Informers.waitForSync(informer, timeout);
+    }
+
+    public void stop() {
+        if (informer != null) {
+            informer.stop();
+        }
+    }
+
+    public String getOperatorType() {
+        return operatorType;
+    }
+
+    public synchronized int size() {
+        return assignments.size();
+    }
+
+    /**
+     * Find the connectors assigned to an operator older than the given version.
+     *
+     * @param  version the version.
+     * @return         the id of the connectors assigned to an operator with a lower version.
+     */
+    public synchronized List<ResourceID> olderThan(String version) {
+        final List<ResourceID> answer = new ArrayList<>();
+
+        for (Set<ResourceID> ids : byVersion.headMap(version(version), false).values()) {
+            answer.addAll(ids);
+        }
+
+        return answer;
+    }
+
+    @Override
+    public void onAdd(ManagedConnector connector) {
+        put(connector);
+    }
+
+    @Override
+    public void onUpdate(ManagedConnector oldConnector, ManagedConnector newConnector) {
+        put(newConnector);
+    }
+
+    @Override
+    public void onDelete(ManagedConnector connector, boolean deletedFinalStateUnknown) {
+        remove(ResourceID.fromResource(connector));
+    }
+
+    synchronized void put(ManagedConnector connector) {
+        final ResourceID id = ResourceID.fromResource(connector);
+        final Operator assigned = connector.getStatus() != null && connector.getStatus().getConnectorStatus() != null
+            ? connector.getStatus().getConnectorStatus().getAssignedOperator()
+            : null;
+
+        if (assigned == null || assigned.getVersion() == null || !Objects.equals(operatorType, assigned.getType())) {
+            remove(id);
+            return;
+        }
+
+        final Version version = version(assigned.getVersion());
+        final Version previous = assignments.put(id, version);
+
+        if (!version.equals(previous)) {
+            if (previous != null) {
+                unlink(id, previous);
+            }
+
+            byVersion.computeIfAbsent(version, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(ResourceID id) {
+        final Version previous = assignments.remove(id);
+        if (previous != null) {
+            unlink(id, previous);
+        }
+    }
+
+    private void unlink(ResourceID id, Version version) {
+        final Set<ResourceID> ids = byVersion.get(version);
+        if (ids != null) {
+            ids.remove(id);
+
+            if (ids.isEmpty()) {
+                byVersion.remove(version);
+            }
+        }
+    }
+
+    private Version version(String version) {
+        // only a handful of operator versions exist at any time, so parsed versions are never evicted
+        return versions.computeIfAbsent(version, Version::new);
+    }
+}
@@ -1,19 +1,27 @@
 package org.bf2.cos.fleetshard.operator.connector;
 
+import java.util.Optional;
+
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
-import org.bf2.cos.fleetshard.operator.support.InstrumentedWatcherEventSource;
+import org.bf2.cos.fleetshard.operator.support.InstrumentedSharedInformerEventSource;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.javaoperatorsdk.operator.processing.event.Event;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 
-public class ConnectorSecretEventSource extends InstrumentedWatcherEventSource<Secret> {
+/**
+ * Trigger a reconcile of the owning connector any time one of its secrets changes, and cache the secrets so the
+ * controller can read them without any call to the API server.
+ */
+public class ConnectorSecretEventSource extends InstrumentedSharedInformerEventSource<Secret> {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorSecretEventSource.class);
 
     private final ManagedConnectorOperator operator;
@@ -32,13 +40,13 @@ public class ConnectorSecretEventSource extends InstrumentedWatcherEventSource<S
     }
 
     @Override
-    protected Watch doWatch() {
+    protected SharedIndexInformer<Secret> doInform() {
         return getClient()
             .secrets()
             .inNamespace(namespace)
             .withLabel(Resources.LABEL_OPERATOR_TYPE, operator.getSpec().getType())
             .withLabel(Resources.LABEL_UOW)
-            .watch(this);
+            .inform(this);
     }
 
     @Override
@@ -53,4 +61,14 @@ public class ConnectorSecretEventSource extends InstrumentedWatcherEventSource<S
             getEventHandler().handleEvent(new Event(rid));
         });
     }
+
+    /**
+     * Lookup a secret from the cache.
+     *
+     * @param  name the name of the secret.
+     * @return      a copy of the cached secret.
+     */
+    public Optional<Secret> getSecret(String name) {
+        return get(namespace, name).map(secret -> new SecretBuilder(secret).build());
+    }
 }
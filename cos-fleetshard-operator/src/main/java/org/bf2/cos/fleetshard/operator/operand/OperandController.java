@@ -27,9 +27,10 @@ public interface OperandController {
      * Extract the status of a connector.
      *
      * @param  connector the connector descriptor.
+     * @param  resources the cache of the resources generated by the connector.
      * @return           an optional {@link ConnectorStatusSpec}.
      */
-    void status(ManagedConnector connector);
+    void status(ManagedConnector connector, OperandResourceCache resources);
 
     /**
      * Stop the connector.
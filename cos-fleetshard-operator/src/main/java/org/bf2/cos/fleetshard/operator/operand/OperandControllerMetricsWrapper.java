@@ -31,9 +31,9 @@ public class OperandControllerMetricsWrapper implements OperandController {
     }
 
     @Override
-    public void status(ManagedConnector connector) {
+    public void status(ManagedConnector connector, OperandResourceCache resources) {
         metricsRecorder.record(
-            () -> wrappedOperandController.status(connector), ".status");
+            () -> wrappedOperandController.status(connector, resources), ".status");
     }
 
     @Override
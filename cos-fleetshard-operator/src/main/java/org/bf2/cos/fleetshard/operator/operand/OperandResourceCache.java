@@ -0,0 +1,33 @@
+package org.bf2.cos.fleetshard.operator.operand;
+
+import java.util.Optional;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+
+/**
+ * A read-through cache of the resources generated by an {@link OperandController}.
+ */
+public interface OperandResourceCache {
+    /**
+     * Lookup a resource, the API server is only queried if the resource is not cached.
+     *
+     * @param  type      the type of the resource.
+     * @param  namespace the namespace of the resource.
+     * @param  name      the name of the resource.
+     * @return           a copy of the resource, that can be modified.
+     */
+    <T extends HasMetadata> Optional<T> get(Class<T> type, String namespace, String name);
+
+    /**
+     * Lookup the resource of the given type generated for a connector, which has the same name as the connector.
+     *
+     * @param  type      the type of the resource.
+     * @param  connector the connector.
+     * @return           a copy of the resource, that can be modified.
+     */
+    default <T extends HasMetadata> Optional<T> get(Class<T> type, ManagedConnector connector) {
+        return get(type, connector.getMetadata().getNamespace(), connector.getMetadata().getName());
+    }
+}
@@ -1,7 +1,11 @@
 package org.bf2.cos.fleetshard.operator.operand;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
-import org.bf2.cos.fleetshard.operator.support.InstrumentedWatcherEventSource;
+import org.bf2.cos.fleetshard.operator.support.InstrumentedSharedInformerEventSource;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.slf4j.Logger;
@@ -10,12 +14,21 @@ import org.slf4j.LoggerFactory;
 import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
 import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher.Action;
 import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
 import io.javaoperatorsdk.operator.processing.event.Event;
 import io.javaoperatorsdk.operator.processing.event.ResourceID;
 
-public class OperandResourceWatcher extends InstrumentedWatcherEventSource<GenericKubernetesResource> {
+/**
+ * Trigger a reconcile of the owning connector any time one of the resources generated by the operand changes.
+ * </p>
+ * The resources seen by the watcher are also served to the {@link OperandController} through an
+ * {@link OperandResourceCache}, together with the time the informer last stored them, so the time since a cached
+ * resource has last been changed or re-listed can be measured.
+ */
+public class OperandResourceWatcher extends InstrumentedSharedInformerEventSource<GenericKubernetesResource> {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperandResourceWatcher.class);
 
     private final ManagedConnectorOperator operator;
@@ -23,6 +36,7 @@ public class OperandResourceWatcher extends InstrumentedWatcherEventSource<Gener
     private final String contextApiVersion;
     private final String namespace;
     private final String name;
+    private final Map<String, Long> timestamps;
 
     public OperandResourceWatcher(
         String name,
@@ -52,7 +66,7 @@ public class OperandResourceWatcher extends InstrumentedWatcherEventSource<Gener
         this.contextApiVersion = context.getGroup() != null
             ? context.getGroup() + "/" + context.getVersion()
             : context.getVersion();
-
+        this.timestamps = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -60,9 +74,42 @@ public class OperandResourceWatcher extends InstrumentedWatcherEventSource<Gener
         return name;
     }
 
+    public ResourceDefinitionContext getResourceDefinitionContext() {
+        return context;
+    }
+
+    /**
+     * @param  namespace the namespace of the resource.
+     * @param  name      the name of the resource.
+     * @return           the time, in milliseconds since the epoch, the resource has last been stored in the informer
+     *                   cache.
+     */
+    public Optional<Long> getLastUpdateTime(String namespace, String name) {
+        return Optional.ofNullable(timestamps.get(Cache.namespaceKeyFunc(namespace, name)));
+    }
+
+    @Override
+    public void onAdd(GenericKubernetesResource resource) {
+        timestamps.put(Cache.metaNamespaceKeyFunc(resource), System.currentTimeMillis());
+        super.onAdd(resource);
+    }
+
+    @Override
+    public void onUpdate(GenericKubernetesResource oldResource, GenericKubernetesResource newResource) {
+        // a re-list confirms the cached resource is still current, so it refreshes its timestamp
+        timestamps.put(Cache.metaNamespaceKeyFunc(newResource), System.currentTimeMillis());
+        super.onUpdate(oldResource, newResource);
+    }
+
+    @Override
+    public void onDelete(GenericKubernetesResource resource, boolean deletedFinalStateUnknown) {
+        timestamps.remove(Cache.metaNamespaceKeyFunc(resource));
+        super.onDelete(resource, deletedFinalStateUnknown);
+    }
+
     @Override
-    protected Watch doWatch() {
-        LOGGER.info("Watch resource {}:{}@{}",
+    protected SharedIndexInformer<GenericKubernetesResource> doInform() {
+        LOGGER.info("Inform resource {}:{}@{}",
             contextApiVersion,
             context.getKind(),
             namespace);
@@ -73,13 +120,13 @@ public class OperandResourceWatcher extends InstrumentedWatcherEventSource<Gener
                 .inNamespace(namespace)
                 .withLabel(Resources.LABEL_OPERATOR_OWNER, operator.getMetadata().getName())
                 .withLabel(Resources.LABEL_OPERATOR_TYPE, operator.getSpec().getType())
-                .watch(this);
+                .inform(this);
         } else {
             return getClient()
                 .genericKubernetesResources(context)
                 .withLabel(Resources.LABEL_OPERATOR_OWNER, operator.getMetadata().getName())
                 .withLabel(Resources.LABEL_OPERATOR_TYPE, operator.getSpec().getType())
-                .watch(this);
+                .inform(this);
         }
     }
 
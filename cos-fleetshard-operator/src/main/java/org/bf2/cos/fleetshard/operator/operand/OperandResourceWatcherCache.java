@@ -0,0 +1,121 @@
+package org.bf2.cos.fleetshard.operator.operand;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * An {@link OperandResourceCache} backed by the informers of the {@link OperandResourceWatcher}, resources of a type
+ * that is not watched or that are not known yet are retrieved from the API server.
+ */
+public class OperandResourceWatcherCache implements OperandResourceCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperandResourceWatcherCache.class);
+
+    private final KubernetesClient client;
+    private final Map<String, Entry> entries;
+    private final MeterRegistry registry;
+    private final String id;
+    private final List<Tag> tags;
+
+    /**
+     * @param client   the {@link KubernetesClient}
+     * @param watchers the watchers backing the cache
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     * @param tags     the common metrics tags
+     */
+    public OperandResourceWatcherCache(
+        KubernetesClient client,
+        List<OperandResourceWatcher> watchers,
+        MeterRegistry registry,
+        String id,
+        List<Tag> tags) {
+
+        this.client = client;
+        this.registry = registry;
+        this.id = id;
+        this.tags = tags;
+        this.entries = new HashMap<>();
+
+        for (OperandResourceWatcher watcher : watchers) {
+            this.entries.put(
+                key(watcher.getResourceDefinitionContext().getGroup(), watcher.getResourceDefinitionContext().getKind()),
+                new Entry(watcher, watcher.getResourceDefinitionContext().getKind()));
+        }
+    }
+
+    /**
+     * Lookup a resource, the following metrics are recorded:
+     * <ul>
+     * <li>{@code id.hits} the number of resources served from an informer cache</li>
+     * <li>{@code id.misses} the number of resources retrieved from the API server</li>
+     * <li>{@code id.age} the time elapsed since a cached resource has last been changed or re-listed, as seen by the
+     * reconcile reading it. This is not the staleness of the cache: a resource that does not change keeps aging while
+     * the cached copy is still up to date, and the delay between a change and the informer being notified is not
+     * accounted</li>
+     * </ul>
+     */
+    @Override
+    public <T extends HasMetadata> Optional<T> get(Class<T> type, String namespace, String name) {
+        final Entry entry = entries.get(key(HasMetadata.getGroup(type), HasMetadata.getKind(type)));
+
+        if (entry != null) {
+            final Optional<GenericKubernetesResource> cached = entry.watcher.get(namespace, name);
+
+            if (cached.isPresent()) {
+                entry.hits.increment();
+                entry.watcher.getLastUpdateTime(namespace, name).ifPresent(
+                    time -> entry.age.record(Math.max(0, System.currentTimeMillis() - time), TimeUnit.MILLISECONDS));
+
+                // the cached resource is shared, the conversion gives the caller its own copy
+                return Optional.of(Serialization.jsonMapper().convertValue(cached.get(), type));
+            }
+
+            entry.misses.increment();
+        }
+
+        LOGGER.debug("Resource {}:{}@{} not cached, retrieving it", HasMetadata.getKind(type), name, namespace);
+
+        return Optional.ofNullable(
+            client.resources(type)
+                .inNamespace(namespace)
+                .withName(name)
+                .get());
+    }
+
+    private static String key(String group, String kind) {
+        return group != null ? group + "/" + kind : kind;
+    }
+
+    private final class Entry {
+        final OperandResourceWatcher watcher;
+        final Counter hits;
+        final Counter misses;
+        final Timer age;
+
+        Entry(OperandResourceWatcher watcher, String kind) {
+            final List<Tag> entryTags = new ArrayList<>(tags);
+            entryTags.add(Tag.of("kind", kind));
+
+            this.watcher = watcher;
+            this.hits = Counter.builder(id + ".hits").tags(entryTags).register(registry);
+            this.misses = Counter.builder(id + ".misses").tags(entryTags).register(registry);
+            this.age = Timer.builder(id + ".age").tags(entryTags).register(registry);
+        }
+    }
+}
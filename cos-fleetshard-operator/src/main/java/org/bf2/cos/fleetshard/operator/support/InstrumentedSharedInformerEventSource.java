@@ -0,0 +1,21 @@
+package org.bf2.cos.fleetshard.operator.support;
+
+import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher.Action;
+
+public abstract class InstrumentedSharedInformerEventSource<T extends HasMetadata> extends SharedInformerEventSource<T> {
+    private final MetricsRecorder recorder;
+
+    protected InstrumentedSharedInformerEventSource(KubernetesClient client, MetricsRecorder recorder) {
+        super(client);
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void eventReceived(Action action, T resource) {
+        this.recorder.record(() -> onEventReceived(action, resource));
+    }
+}
@@ -0,0 +1,131 @@
+package org.bf2.cos.fleetshard.operator.support;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.Indexer;
+import io.javaoperatorsdk.operator.OperatorException;
+import io.javaoperatorsdk.operator.processing.event.EventHandler;
+import io.javaoperatorsdk.operator.processing.event.source.EventSource;
+
+/**
+ * An {@link EventSource} backed by a shared informer.
+ * </p>
+ * Unlike a raw watch, the informer resumes watching from the last seen resource version when the connection drops and
+ * performs a full re-list, with backoff, when that version is gone, so no event is lost and a watch failure does not
+ * require the operator to be restarted. The resources seen by the informer are cached and can be read through
+ * {@link #get(String, String)} and {@link #list()}.
+ *
+ * @param <T> the type of the resources
+ */
+public abstract class SharedInformerEventSource<T extends HasMetadata> implements EventSource, ResourceEventHandler<T> {
+    private final KubernetesClient client;
+    private final Logger logger;
+
+    private EventHandler eventHandler;
+    private volatile SharedIndexInformer<T> informer;
+
+    protected SharedInformerEventSource(KubernetesClient client) {
+        this.client = client;
+        this.logger = LoggerFactory.getLogger(getClass());
+    }
+
+    /**
+     * Create and start the informer, events are delivered to this instance.
+     *
+     * @return the informer.
+     */
+    protected abstract SharedIndexInformer<T> doInform();
+
+    protected abstract void onEventReceived(Action action, T resource);
+
+    @Override
+    public void setEventHandler(EventHandler eventHandler) {
+        this.eventHandler = eventHandler;
+    }
+
+    @Override
+    public void start() throws OperatorException {
+        this.informer = doInform();
+    }
+
+    @Override
+    public void stop() throws OperatorException {
+        if (informer != null) {
+            getLogger().debug("Stopping informer for {}", informer.getApiTypeClass().getSimpleName());
+            informer.stop();
+        }
+    }
+
+    @Override
+    public void onAdd(T resource) {
+        eventReceived(Action.ADDED, resource);
+    }
+
+    @Override
+    public void onUpdate(T oldResource, T newResource) {
+        if (Objects.equals(oldResource.getMetadata().getResourceVersion(), newResource.getMetadata().getResourceVersion())) {
+            // a re-list replays resources that have not changed
+            return;
+        }
+
+        eventReceived(Action.MODIFIED, newResource);
+    }
+
+    @Override
+    public void onDelete(T resource, boolean deletedFinalStateUnknown) {
+        eventReceived(Action.DELETED, resource);
+    }
+
+    /**
+     * Lookup a resource from the informer cache.
+     *
+     * @param  namespace the namespace of the resource, null for cluster scoped resources.
+     * @param  name      the name of the resource.
+     * @return           the cached resource, that must not be modified.
+     */
+    public Optional<T> get(String namespace, String name) {
+        return Optional.ofNullable(getIndexer().getByKey(Cache.namespaceKeyFunc(namespace, name)));
+    }
+
+    /**
+     * @return the resources in the informer cache, that must not be modified.
+     */
+    public List<T> list() {
+        return getIndexer().list();
+    }
+
+    protected Indexer<T> getIndexer() {
+        if (informer == null) {
+            throw new IllegalStateException("Event source must be started before looking up resources");
+        }
+
+        return informer.getIndexer();
+    }
+
+    protected void eventReceived(Action action, T resource) {
+        onEventReceived(action, resource);
+    }
+
+    protected KubernetesClient getClient() {
+        return client;
+    }
+
+    protected EventHandler getEventHandler() {
+        return eventHandler;
+    }
+
+    protected Logger getLogger() {
+        return logger;
+    }
+}
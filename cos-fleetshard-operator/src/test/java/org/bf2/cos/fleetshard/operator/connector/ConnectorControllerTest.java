@@ -0,0 +1,162 @@
+package org.bf2.cos.fleetshard.operator.connector;
+
+import java.util.List;
+
+import org.bf2.cos.fleetshard.api.ConnectorStatusSpecBuilder;
+import org.bf2.cos.fleetshard.api.DeploymentSpec;
+import org.bf2.cos.fleetshard.api.DeploymentSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorStatus;
+import org.bf2.cos.fleetshard.api.ManagedConnectorStatusBuilder;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelectorBuilder;
+import org.bf2.cos.fleetshard.operator.FleetShardOperatorConfig;
+import org.bf2.cos.fleetshard.operator.client.FleetShardClient;
+import org.bf2.cos.fleetshard.operator.operand.OperandController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.Condition;
+import io.fabric8.kubernetes.api.model.ConditionBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.api.reconciler.UpdateControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bf2.cos.fleetshard.api.ManagedConnector.DESIRED_STATE_READY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class ConnectorControllerTest {
+    private static final String OPERATOR_ID = "cos-fleetshard-operator";
+    private static final String OPERATOR_TYPE = "connector-operator-camel";
+    private static final String OPERATOR_VERSION = "1.0.0";
+
+    private ConnectorController controller;
+
+    @BeforeEach
+    void setUp() {
+        FleetShardOperatorConfig config = Mockito.mock(FleetShardOperatorConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard");
+        when(config.metrics().connectorOperand().enabled()).thenReturn(false);
+
+        controller = new ConnectorController();
+        controller.config = config;
+        controller.registry = new SimpleMeterRegistry();
+        controller.fleetShard = Mockito.mock(FleetShardClient.class);
+        controller.wrappedOperandController = Mockito.mock(OperandController.class);
+        controller.managedConnectorOperator = new ManagedConnectorOperatorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(OPERATOR_ID)
+                .build())
+            .withSpec(new ManagedConnectorOperatorSpecBuilder()
+                .withType(OPERATOR_TYPE)
+                .withVersion(OPERATOR_VERSION)
+                .build())
+            .build();
+
+        controller.setUp();
+    }
+
+    @Test
+    void unchangedStatusIsSuppressed() {
+        final ManagedConnector connector = connector();
+
+        // the operand only refreshes the transition time of the conditions
+        doAnswer(invocation -> {
+            ManagedConnector mc = invocation.getArgument(0);
+            mc.getStatus().getConnectorStatus().setConditions(List.of(condition("Ready", "True", "2022-01-01T00:00:10Z")));
+            return null;
+        }).when(controller.wrappedOperandController).status(any(), any());
+
+        final UpdateControl<ManagedConnector> answer = controller.reconcile(connector, null);
+
+        assertThat(answer.isNoUpdate()).isTrue();
+        assertThat(counter("cos.fleetshard.controller.connectors.status.suppressed")).isEqualTo(1);
+        assertThat(counter("cos.fleetshard.controller.connectors.status.updated")).isZero();
+    }
+
+    @Test
+    void changedStatusIsWritten() {
+        final ManagedConnector connector = connector();
+
+        doAnswer(invocation -> {
+            ManagedConnector mc = invocation.getArgument(0);
+            mc.getStatus().getConnectorStatus().setConditions(List.of(condition("Ready", "False", "2022-01-01T00:00:10Z")));
+            return null;
+        }).when(controller.wrappedOperandController).status(any(), any());
+
+        final UpdateControl<ManagedConnector> answer = controller.reconcile(connector, null);
+
+        assertThat(answer.isUpdateStatus()).isTrue();
+        assertThat(answer.getResource().getStatus().getConnectorStatus().getConditions())
+            .extracting(Condition::getStatus)
+            .containsExactly("False");
+        assertThat(counter("cos.fleetshard.controller.connectors.status.updated")).isEqualTo(1);
+        assertThat(counter("cos.fleetshard.controller.connectors.status.suppressed")).isZero();
+    }
+
+    @Test
+    void normalizeTakesADeepCopy() {
+        final ManagedConnector connector = connector();
+        final ManagedConnectorStatus normalized = ConnectorController.normalize(connector.getStatus());
+
+        assertThat(normalized.getConnectorStatus().getConditions())
+            .allSatisfy(c -> assertThat(c.getLastTransitionTime()).isNull());
+        assertThat(connector.getStatus().getConnectorStatus().getConditions())
+            .allSatisfy(c -> assertThat(c.getLastTransitionTime()).isNotNull());
+    }
+
+    private double counter(String name) {
+        return controller.registry.get(name).counter().count();
+    }
+
+    private static Condition condition(String type, String status, String lastTransitionTime) {
+        return new ConditionBuilder()
+            .withType(type)
+            .withStatus(status)
+            .withReason(type)
+            .withLastTransitionTime(lastTransitionTime)
+            .build();
+    }
+
+    private static ManagedConnector connector() {
+        final DeploymentSpec deployment = new DeploymentSpecBuilder()
+            .withDeploymentResourceVersion(1L)
+            .withDesiredState(DESIRED_STATE_READY)
+            .build();
+
+        return new ManagedConnectorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName("mctr-1")
+                .withNamespace("connectors")
+                .build())
+            .withSpec(new ManagedConnectorSpecBuilder()
+                .withConnectorId("cid")
+                .withDeploymentId("did")
+                .withDeployment(deployment)
+                .withOperatorSelector(new OperatorSelectorBuilder()
+                    .withId(OPERATOR_ID)
+                    .withType(OPERATOR_TYPE)
+                    .withVersion("[1.0.0,2.0.0)")
+                    .build())
+                .build())
+            .withStatus(new ManagedConnectorStatusBuilder()
+                .withPhase(ManagedConnectorStatus.PhaseType.Monitor)
+                .withDeployment(new DeploymentSpecBuilder(deployment).build())
+                .withConnectorStatus(new ConnectorStatusSpecBuilder()
+                    .withPhase(DESIRED_STATE_READY)
+                    .withAssignedOperator(new Operator(OPERATOR_ID, OPERATOR_TYPE, OPERATOR_VERSION))
+                    .withAvailableOperator(new Operator())
+                    .withConditions(condition("Ready", "True", "2022-01-01T00:00:00Z"))
+                    .build())
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,105 @@
+package org.bf2.cos.fleetshard.operator.connector;
+
+import org.bf2.cos.fleetshard.api.ConnectorStatusSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorStatusBuilder;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectorOperatorIndexTest {
+    private static final String NAMESPACE = "connectors";
+    private static final String OPERATOR_TYPE = "connector-operator-camel";
+
+    private ConnectorOperatorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ConnectorOperatorIndex(null, NAMESPACE, OPERATOR_TYPE);
+    }
+
+    @Test
+    void put() {
+        index.put(connector("c1", OPERATOR_TYPE, "1.0.0"));
+        index.put(connector("c2", OPERATOR_TYPE, "1.1.0"));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.olderThan("1.0.0")).isEmpty();
+        assertThat(index.olderThan("1.1.0")).containsExactly(id("c1"));
+        assertThat(index.olderThan("2.0.0")).containsExactlyInAnyOrder(id("c1"), id("c2"));
+    }
+
+    @Test
+    void remove() {
+        index.put(connector("c1", OPERATOR_TYPE, "1.0.0"));
+        index.put(connector("c2", OPERATOR_TYPE, "1.0.0"));
+
+        index.remove(id("c1"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.olderThan("2.0.0")).containsExactly(id("c2"));
+
+        // removing an unknown connector is a no-op
+        index.remove(id("c3"));
+
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void versionChange() {
+        index.put(connector("c1", OPERATOR_TYPE, "1.0.0"));
+        index.put(connector("c1", OPERATOR_TYPE, "1.2.0"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.olderThan("1.1.0")).isEmpty();
+        assertThat(index.olderThan("1.3.0")).containsExactly(id("c1"));
+    }
+
+    @Test
+    void typeMismatch() {
+        index.put(connector("c1", OPERATOR_TYPE, "1.0.0"));
+        index.put(connector("c2", "connector-operator-debezium", "1.0.0"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.olderThan("2.0.0")).containsExactly(id("c1"));
+
+        // a connector re-assigned to an operator of another type is not indexed anymore
+        index.put(connector("c1", "connector-operator-debezium", "1.0.0"));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.olderThan("2.0.0")).isEmpty();
+    }
+
+    @Test
+    void unassigned() {
+        index.put(connector("c1", OPERATOR_TYPE, "1.0.0"));
+        index.put(connector("c1", null, null));
+
+        assertThat(index.size()).isZero();
+        assertThat(index.olderThan("2.0.0")).isEmpty();
+    }
+
+    private static ResourceID id(String name) {
+        return new ResourceID(name, NAMESPACE);
+    }
+
+    private static ManagedConnector connector(String name, String type, String version) {
+        return new ManagedConnectorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .withNamespace(NAMESPACE)
+                .build())
+            .withStatus(new ManagedConnectorStatusBuilder()
+                .withConnectorStatus(new ConnectorStatusSpecBuilder()
+                    .withAssignedOperator(new Operator(name, type, version))
+                    .build())
+                .build())
+            .build();
+    }
+}
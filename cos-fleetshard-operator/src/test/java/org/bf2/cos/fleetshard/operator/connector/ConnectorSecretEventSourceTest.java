@@ -0,0 +1,94 @@
+package org.bf2.cos.fleetshard.operator.connector;
+
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorSpecBuilder;
+import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.javaoperatorsdk.operator.processing.event.Event;
+import io.javaoperatorsdk.operator.processing.event.EventHandler;
+import io.javaoperatorsdk.operator.processing.event.ResourceID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ConnectorSecretEventSourceTest {
+    private static final String NAMESPACE = "connectors";
+
+    private EventHandler handler;
+    private ConnectorSecretEventSource source;
+
+    @BeforeEach
+    void setUp() {
+        final ManagedConnectorOperator operator = new ManagedConnectorOperatorBuilder()
+            .withNewMetadata()
+            .withName("cos-fleetshard-operator")
+            .endMetadata()
+            .withSpec(new ManagedConnectorOperatorSpecBuilder()
+                .withType("connector-operator-camel")
+                .withVersion("1.0.0")
+                .build())
+            .build();
+
+        handler = Mockito.mock(EventHandler.class);
+        source = new ConnectorSecretEventSource(
+            null,
+            operator,
+            NAMESPACE,
+            MetricsRecorder.of(new SimpleMeterRegistry(), "cos.fleetshard.controller.event.secrets"));
+        source.setEventHandler(handler);
+    }
+
+    @Test
+    void eventsAreMappedToTheOwningConnector() {
+        source.onAdd(secret("s1", "1", "mctr-1"));
+        source.onUpdate(secret("s1", "1", "mctr-1"), secret("s1", "2", "mctr-1"));
+        source.onDelete(secret("s1", "2", "mctr-1"), false);
+
+        final ArgumentCaptor<Event> events = ArgumentCaptor.forClass(Event.class);
+        verify(handler, times(3)).handleEvent(events.capture());
+
+        assertThat(events.getAllValues())
+            .extracting(Event::getRelatedCustomResourceID)
+            .containsOnly(new ResourceID("mctr-1", NAMESPACE));
+    }
+
+    @Test
+    void eventsWithoutOwnerAreIgnored() {
+        source.onAdd(secret("s1", "1", null));
+
+        verify(handler, never()).handleEvent(any());
+    }
+
+    private static Secret secret(String name, String resourceVersion, String owner) {
+        final SecretBuilder builder = new SecretBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withNamespace(NAMESPACE)
+            .withResourceVersion(resourceVersion)
+            .endMetadata();
+
+        if (owner != null) {
+            builder.editMetadata()
+                .addNewOwnerReference()
+                .withApiVersion("cos.bf2.org/v1alpha1")
+                .withKind("ManagedConnector")
+                .withName(owner)
+                .withUid(owner)
+                .endOwnerReference()
+                .endMetadata();
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,131 @@
+package org.bf2.cos.fleetshard.operator.operand;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResourceBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OperandResourceWatcherCacheTest {
+    private static final String NAMESPACE = "connectors";
+    private static final String ID = "cos.fleetshard.controller.operand.cache";
+
+    private KubernetesClient client;
+    private OperandResourceWatcher watcher;
+    private SimpleMeterRegistry registry;
+    private OperandResourceWatcherCache cache;
+
+    @BeforeEach
+    void setUp() {
+        client = Mockito.mock(KubernetesClient.class);
+        watcher = Mockito.mock(OperandResourceWatcher.class);
+        registry = new SimpleMeterRegistry();
+
+        when(watcher.getResourceDefinitionContext()).thenReturn(new ResourceDefinitionContext.Builder()
+            .withGroup("apps")
+            .withVersion("v1")
+            .withKind("Deployment")
+            .withNamespaced(true)
+            .build());
+
+        cache = new OperandResourceWatcherCache(client, List.of(watcher), registry, ID, List.of(Tag.of("cos.test", "1")));
+    }
+
+    @Test
+    void hit() {
+        when(watcher.get(NAMESPACE, "d1")).thenReturn(Optional.of(new GenericKubernetesResourceBuilder()
+            .withApiVersion("apps/v1")
+            .withKind("Deployment")
+            .withNewMetadata()
+            .withName("d1")
+            .withNamespace(NAMESPACE)
+            .endMetadata()
+            .build()));
+        when(watcher.getLastUpdateTime(NAMESPACE, "d1")).thenReturn(Optional.of(System.currentTimeMillis() - 1_000));
+
+        final Optional<Deployment> answer = cache.get(Deployment.class, NAMESPACE, "d1");
+
+        assertThat(answer).hasValueSatisfying(d -> assertThat(d.getMetadata().getName()).isEqualTo("d1"));
+        assertThat(registry.get(ID + ".hits").tag("kind", "Deployment").counter().count()).isEqualTo(1);
+        assertThat(registry.get(ID + ".misses").tag("kind", "Deployment").counter().count()).isZero();
+        assertThat(registry.get(ID + ".age").tag("kind", "Deployment").timer().count()).isEqualTo(1);
+
+        verify(client, never()).resources(Deployment.class);
+    }
+
+    @Test
+    void miss() {
+        final Deployment deployment = new DeploymentBuilder()
+            .withNewMetadata()
+            .withName("d1")
+            .withNamespace(NAMESPACE)
+            .endMetadata()
+            .build();
+
+        when(watcher.get(NAMESPACE, "d1")).thenReturn(Optional.<GenericKubernetesResource> empty());
+        stub(Deployment.class, deployment);
+
+        final Optional<Deployment> answer = cache.get(Deployment.class, NAMESPACE, "d1");
+
+        assertThat(answer).containsSame(deployment);
+        assertThat(registry.get(ID + ".hits").tag("kind", "Deployment").counter().count()).isZero();
+        assertThat(registry.get(ID + ".misses").tag("kind", "Deployment").counter().count()).isEqualTo(1);
+        assertThat(registry.get(ID + ".age").tag("kind", "Deployment").timer().count()).isZero();
+    }
+
+    @Test
+    void fallback() {
+        final ConfigMap configMap = new ConfigMapBuilder()
+            .withNewMetadata()
+            .withName("cm1")
+            .withNamespace(NAMESPACE)
+            .endMetadata()
+            .build();
+
+        stub(ConfigMap.class, configMap);
+
+        // config maps are not watched, so they are always retrieved from the API server
+        final Optional<ConfigMap> answer = cache.get(ConfigMap.class, NAMESPACE, "cm1");
+
+        assertThat(answer).containsSame(configMap);
+        assertThat(registry.find(ID + ".hits").tag("kind", "ConfigMap").counter()).isNull();
+        assertThat(registry.find(ID + ".misses").tag("kind", "ConfigMap").counter()).isNull();
+
+        verify(watcher, never()).get(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends HasMetadata> void stub(Class<T> type, T resource) {
+        final MixedOperation<T, KubernetesResourceList<T>, Resource<T>> operation = Mockito.mock(MixedOperation.class);
+        final NonNamespaceOperation<T, KubernetesResourceList<T>, Resource<T>> namespaced = Mockito.mock(
+            NonNamespaceOperation.class);
+        final Resource<T> named = Mockito.mock(Resource.class);
+
+        when(client.resources(type)).thenReturn(operation);
+        when(operation.inNamespace(resource.getMetadata().getNamespace())).thenReturn(namespaced);
+        when(namespaced.withName(resource.getMetadata().getName())).thenReturn(named);
+        when(named.get()).thenReturn(resource);
+    }
+}
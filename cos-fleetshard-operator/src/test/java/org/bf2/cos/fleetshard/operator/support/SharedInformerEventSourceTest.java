@@ -0,0 +1,70 @@
+package org.bf2.cos.fleetshard.operator.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SharedInformerEventSourceTest {
+    private List<String> events;
+    private SharedInformerEventSource<ConfigMap> source;
+
+    @BeforeEach
+    void setUp() {
+        events = new ArrayList<>();
+        source = new SharedInformerEventSource<>(null) {
+            @Override
+            protected SharedIndexInformer<ConfigMap> doInform() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            protected void onEventReceived(Action action, ConfigMap resource) {
+                events.add(action.name() + ":" + resource.getMetadata().getName());
+            }
+        };
+    }
+
+    @Test
+    void callbacksAreMappedToActions() {
+        source.onAdd(configMap("cm1", "1"));
+        source.onUpdate(configMap("cm1", "1"), configMap("cm1", "2"));
+        source.onDelete(configMap("cm1", "2"), false);
+
+        assertThat(events).containsExactly("ADDED:cm1", "MODIFIED:cm1", "DELETED:cm1");
+    }
+
+    @Test
+    void unchangedResourcesAreSkipped() {
+        // a re-list replays the resources that have not changed
+        source.onUpdate(configMap("cm1", "1"), configMap("cm1", "1"));
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void cacheIsNotAvailableBeforeStart() {
+        assertThatThrownBy(() -> source.list())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("must be started");
+    }
+
+    private static ConfigMap configMap(String name, String resourceVersion) {
+        return new ConfigMapBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withNamespace("test")
+            .withResourceVersion(resourceVersion)
+            .endMetadata()
+            .build();
+    }
+}
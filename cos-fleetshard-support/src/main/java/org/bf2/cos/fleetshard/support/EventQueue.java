@@ -6,6 +6,7 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -13,29 +14,95 @@ import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A queue that coalesces the submitted events and hands them over to a single consumer in batches.
+ * </p>
+ * The lock guarding the pending events is only held to add events or to swap the pending set out, so producers are
+ * never blocked by the processing of a batch. When a capacity is set and the number of pending events exceeds it, the
+ * pending events are dropped in favour of a poison pill, which results in a full resync.
+ */
 public abstract class EventQueue<T extends Comparable<T>, R> {
     private final Logger logger;
     private final ReentrantLock lock;
+    private final ReentrantLock processLock;
     private final Condition condition;
-    private final Set<T> events;
+    private final AtomicLong submitted;
+    private final AtomicLong coalesced;
+    private final AtomicLong overflows;
+
+    private Set<T> events;
     private volatile boolean poison;
+    private volatile int capacity;
 
     public EventQueue() {
+        this(0);
+    }
+
+    public EventQueue(int capacity) {
         this.logger = LoggerFactory.getLogger(getClass());
         this.lock = new ReentrantLock();
+        this.processLock = new ReentrantLock();
         this.condition = lock.newCondition();
+        this.submitted = new AtomicLong();
+        this.coalesced = new AtomicLong();
+        this.overflows = new AtomicLong();
         this.poison = false;
+        this.capacity = capacity;
         this.events = new HashSet<>();
     }
 
+    /**
+     * Set the maximum number of pending events, a value lower or equal to zero means unbounded.
+     *
+     * @param capacity the capacity.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Register metrics about the queue:
+     * <ul>
+     * <li>{@code id.size}: the number of pending events</li>
+     * <li>{@code id.submitted}: the number of submitted events</li>
+     * <li>{@code id.coalesced}: the number of events merged with an identical pending one</li>
+     * <li>{@code id.overflows}: the number of times the capacity has been exceeded, triggering a full resync</li>
+     * </ul>
+     *
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     */
+    public void registerMetrics(MeterRegistry registry, String id) {
+        Gauge.builder(id + ".size", this, EventQueue::size).register(registry);
+        FunctionCounter.builder(id + ".submitted", submitted, AtomicLong::get).register(registry);
+        FunctionCounter.builder(id + ".coalesced", coalesced, AtomicLong::get).register(registry);
+        FunctionCounter.builder(id + ".overflows", overflows, AtomicLong::get).register(registry);
+    }
+
     public int size() {
-        return LockSupport.callWithLock(lock, this.events::size);
+        return LockSupport.callWithLock(lock, () -> this.events.size());
     }
 
     public boolean isPoisoned() {
         return poison;
     }
 
+    public long getOverflows() {
+        return overflows.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
     public void submitPoisonPill() {
         LockSupport.doWithLock(this.lock, () -> {
             this.poison = true;
@@ -46,40 +113,139 @@ public abstract class EventQueue<T extends Comparable<T>, R> {
     public void submit(T element) {
         Objects.requireNonNull(element, "Element must not be null");
 
+        submitted.incrementAndGet();
+
         LockSupport.doWithLock(this.lock, () -> {
-            this.events.add(element);
+            if (this.events.add(element)) {
+                checkCapacity();
+            } else {
+                coalesced.incrementAndGet();
+            }
+
             this.condition.signalAll();
         });
     }
 
     public void run(Consumer<Collection<R>> consumer) {
-        LockSupport.doWithLock(this.lock, () -> {
-            if (!poison && events.isEmpty()) {
-                return;
-            }
+        processLock.lock();
 
-            process(poison ? Collections.emptyList() : events, consumer);
+        try {
+            final Batch<T> batch;
 
-            poison = false;
-            events.clear();
-        });
+            lock.lock();
+            try {
+                if (!poison && events.isEmpty()) {
+                    return;
+                }
+
+                batch = take();
+            } finally {
+                lock.unlock();
+            }
+
+            dispatch(batch, consumer);
+        } finally {
+            processLock.unlock();
+        }
     }
 
     public void poll(long time, TimeUnit unit, Consumer<Collection<R>> consumer) throws InterruptedException {
-        LockSupport.doWithLockT(this.lock, () -> {
-            if (events.isEmpty() && !poison) {
-                boolean elapsed = this.condition.await(time, unit);
-                if (elapsed) {
-                    logger.trace("TaskQueue: await elapsed");
+        processLock.lockInterruptibly();
+
+        try {
+            final Batch<T> batch;
+
+            lock.lockInterruptibly();
+            try {
+                if (events.isEmpty() && !poison) {
+                    boolean elapsed = this.condition.await(time, unit);
+                    if (elapsed) {
+                        logger.trace("TaskQueue: await elapsed");
+                    }
+                }
+
+                // nothing has been submitted while waiting
+                if (events.isEmpty() && !poison) {
+                    return;
                 }
+
+                batch = take();
+            } finally {
+                lock.unlock();
             }
 
-            process(poison ? Collections.emptyList() : events, consumer);
+            dispatch(batch, consumer);
+        } finally {
+            processLock.unlock();
+        }
+    }
 
-            poison = false;
-            events.clear();
+    protected abstract void process(Collection<T> elements, Consumer<Collection<R>> consumer);
+
+    /**
+     * Swap the pending events out, must be invoked while holding the lock.
+     */
+    private Batch<T> take() {
+        final Batch<T> batch = new Batch<>(poison, events);
+
+        poison = false;
+        events = new HashSet<>();
+
+        return batch;
+    }
+
+    /**
+     * Add the events of a batch that has not been processed successfully back to the queue, so they are retried with the
+     * next batch.
+     */
+    private void restore(Batch<T> batch) {
+        LockSupport.doWithLock(this.lock, () -> {
+            if (batch.poison) {
+                poison = true;
+            }
+
+            events.addAll(batch.events);
+
+            checkCapacity();
         });
     }
 
-    protected abstract void process(Collection<T> elements, Consumer<Collection<R>> consumer);
+    /**
+     * Replace the pending events with a poison pill if the capacity has been exceeded, must be invoked while holding the
+     * lock.
+     */
+    private void checkCapacity() {
+        final int max = this.capacity;
+
+        if (max > 0 && events.size() > max) {
+            logger.debug("TaskQueue: capacity exceeded ({}), scheduling a full resync", max);
+
+            overflows.incrementAndGet();
+            poison = true;
+            events.clear();
+        }
+    }
+
+    private void dispatch(Batch<T> batch, Consumer<Collection<R>> consumer) {
+        boolean processed = false;
+
+        try {
+            process(batch.poison ? Collections.emptyList() : batch.events, consumer);
+            processed = true;
+        } finally {
+            if (!processed) {
+                restore(batch);
+            }
+        }
+    }
+
+    private static final class Batch<T> {
+        final boolean poison;
+        final Set<T> events;
+
+        Batch(boolean poison, Set<T> events) {
+            this.poison = poison;
+            this.events = events;
+        }
+    }
 }
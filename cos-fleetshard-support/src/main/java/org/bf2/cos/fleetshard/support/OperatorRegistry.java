@@ -0,0 +1,257 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelector;
+import org.bf2.cos.fleetshard.api.Version;
+import org.bf2.cos.fleetshard.api.VersionRange;
+import org.bf2.cos.fleetshard.support.watch.Informers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A watch driven registry of the {@link ManagedConnectorOperator} installed in a namespace.
+ * </p>
+ * Operators are indexed by type and sorted by version, so selecting an operator does not require any call to the API
+ * server nor any version parsing.
+ */
+public class OperatorRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperatorRegistry.class);
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final Map<String, Operator> operators;
+    private final Map<String, VersionRange> ranges;
+    private final List<Consumer<Collection<Operator>>> listeners;
+
+    private volatile SharedIndexInformer<ManagedConnectorOperator> informer;
+    private volatile Index index;
+    private volatile long lastUpdate;
+
+    public OperatorRegistry(KubernetesClient client, String namespace) {
+        this.client = client;
+        this.namespace = namespace;
+        this.operators = new ConcurrentHashMap<>();
+        this.ranges = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.index = new Index(List.of());
+        this.lastUpdate = System.currentTimeMillis();
+    }
+
+    public void start() {
+        LOGGER.info("Starting operator registry (namespace: {})", namespace);
+
+        informer = client.resources(ManagedConnectorOperator.class)
+            .inNamespace(namespace)
+            .inform(new ResourceEventHandler<>() {
+                @Override
+                public void onAdd(ManagedConnectorOperator mco) {
+                    put(mco);
+                }
+
+                @Override
+                public void onUpdate(ManagedConnectorOperator oldMco, ManagedConnectorOperator newMco) {
+                    put(newMco);
+                }
+
+                @Override
+                public void onDelete(ManagedConnectorOperator mco, boolean deletedFinalStateUnknown) {
+                    remove(mco);
+                }
+            });
+    }
+
+    public void stop() {
+        if (informer != null) {
+            informer.stop();
+        }
+    }
+
+    /**
+     * Wait for the registry to be populated with the operators installed in the namespace.
+     *
+     * @param  timeout              how long to wait.
+     * @throws TimeoutException     if the registry has not been populated within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void waitForSync(Duration timeout) throws TimeoutException, InterruptedException {
+        if (informer == null) {
+            throw new IllegalStateException("Registry must be started before waiting for it to sync");
+        }
+
+        Informers.waitForSync(informer, timeout);
+    }
+
+    /**
+     * Register metrics about the registry:
+     * <ul>
+     * <li>{@code id.size}: the number of known operators</li>
+     * <li>{@code id.staleness}: the number of seconds since the registry was last updated</li>
+     * </ul>
+     *
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     */
+    public void registerMetrics(MeterRegistry registry, String id) {
+        Gauge.builder(id + ".size", this, r -> r.index.operators.size())
+            .register(registry);
+        Gauge.builder(id + ".staleness", this, OperatorRegistry::staleness)
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    /**
+     * Add a listener that is notified with the full list of operators any time the registry changes.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<Collection<Operator>> listener) {
+        listeners.add(listener);
+    }
+
+    public List<Operator> list() {
+        return index.operators;
+    }
+
+    /**
+     * @see OperatorSelectorUtil#assign(OperatorSelector, Collection)
+     */
+    public Optional<Operator> assign(OperatorSelector selector) {
+        if (selector.getId() != null) {
+            final Operator operator = index.byId.get(selector.getId());
+            if (operator == null) {
+                return Optional.empty();
+            }
+
+            // validate the operator against the selector
+            return OperatorSelectorUtil.assign(selector, List.of(operator));
+        }
+
+        return available(selector);
+    }
+
+    /**
+     * @see OperatorSelectorUtil#available(OperatorSelector, Collection)
+     */
+    public Optional<Operator> available(OperatorSelector selector) {
+        final List<Entry> entries = index.byType.get(selector.getType());
+        if (entries == null) {
+            return Optional.empty();
+        }
+
+        final VersionRange range = ranges.computeIfAbsent(selector.getVersion(), VersionRange::new);
+
+        // entries are sorted by version, from the highest to the lowest
+        for (Entry entry : entries) {
+            if (range.includes(entry.version)) {
+                return Optional.of(entry.operator);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    void put(ManagedConnectorOperator mco) {
+        operators.put(mco.getMetadata().getName(), toOperator(mco));
+        refresh();
+    }
+
+    void remove(ManagedConnectorOperator mco) {
+        operators.remove(mco.getMetadata().getName());
+        refresh();
+    }
+
+    private synchronized void refresh() {
+        final Index newIndex = new Index(operators.values());
+
+        this.index = newIndex;
+        this.lastUpdate = System.currentTimeMillis();
+
+        LOGGER.debug("Operator registry updated (namespace: {}, operators: {})", namespace, newIndex.operators.size());
+
+        for (Consumer<Collection<Operator>> listener : listeners) {
+            try {
+                listener.accept(newIndex.operators);
+            } catch (Exception e) {
+                LOGGER.warn("Error notifying operator registry listener", e);
+            }
+        }
+    }
+
+    private long staleness() {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - lastUpdate);
+    }
+
+    private static Operator toOperator(ManagedConnectorOperator mco) {
+        return new Operator(
+            mco.getMetadata().getName(),
+            mco.getSpec().getType(),
+            mco.getSpec().getVersion());
+    }
+
+    /**
+     * An immutable snapshot of the registry.
+     */
+    private static final class Index {
+        final List<Operator> operators;
+        final Map<String, Operator> byId;
+        final Map<String, List<Entry>> byType;
+
+        Index(Collection<Operator> operators) {
+            this.operators = List.copyOf(operators);
+            this.byId = new HashMap<>();
+            this.byType = new HashMap<>();
+
+            for (Operator operator : operators) {
+                byId.put(operator.getId(), operator);
+
+                final Version version;
+                try {
+                    version = new Version(operator.getVersion());
+                } catch (IllegalArgumentException iae) {
+                    LOGGER.info("CR with unsupported version found for operator {}", operator.getId());
+                    continue;
+                }
+
+                byType.computeIfAbsent(operator.getType(), k -> new ArrayList<>()).add(new Entry(operator, version));
+            }
+
+            final Comparator<Entry> cmp = Comparator.<Entry, Version> comparing(e -> e.version)
+                .reversed()
+                .thenComparing(e -> e.operator.getId());
+
+            byType.values().forEach(entries -> entries.sort(cmp));
+        }
+    }
+
+    private static final class Entry {
+        final Operator operator;
+        final Version version;
+
+        Entry(Operator operator, Version version) {
+            this.operator = Objects.requireNonNull(operator);
+            this.version = Objects.requireNonNull(version);
+        }
+    }
+}
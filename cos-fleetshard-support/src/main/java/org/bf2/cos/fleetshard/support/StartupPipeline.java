@@ -0,0 +1,174 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.bf2.cos.fleetshard.support.function.ThrowingRunnable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Run the phases needed to start a component, running concurrently the phases that do not depend on each other.
+ * </p>
+ * A phase starts as soon as all the phases it depends on have completed, and the failure of a phase fails all the phases
+ * that depend on it. The time taken by each phase is logged and recorded as metrics, so the phases that delay the
+ * readiness of the component can be identified.
+ */
+public class StartupPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupPipeline.class);
+
+    private final String name;
+    private final Map<String, Phase> phases;
+
+    public StartupPipeline(String name) {
+        this.name = name;
+        this.phases = new LinkedHashMap<>();
+    }
+
+    /**
+     * Add a phase to the pipeline.
+     *
+     * @param  phase        the name of the phase.
+     * @param  action       the action performed by the phase.
+     * @param  dependencies the phases that must be completed before this phase starts, they must have been added
+     *                      already.
+     * @return              this pipeline.
+     */
+    public StartupPipeline phase(String phase, ThrowingRunnable<Exception> action, String... dependencies) {
+        if (phases.containsKey(phase)) {
+            throw new IllegalArgumentException("Duplicated phase: " + phase);
+        }
+
+        for (String dependency : dependencies) {
+            if (!phases.containsKey(dependency)) {
+                throw new IllegalArgumentException("Unknown dependency " + dependency + " for phase " + phase);
+            }
+        }
+
+        phases.put(phase, new Phase(phase, action, List.of(dependencies)));
+
+        return this;
+    }
+
+    /**
+     * Run all the phases and wait for them to complete. The time taken by each phase is recorded in a timer named
+     * {@code id.phase.time}, tagged with the phase name, and the overall time in a timer named {@code id.time}.
+     *
+     * @param  registry the {@link MeterRegistry}
+     * @param  id       the metrics base name
+     * @return          the time taken by each phase, in the order phases have been added.
+     */
+    public Map<String, Duration> run(MeterRegistry registry, String id) {
+        final long start = System.nanoTime();
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, phases.size()), r -> {
+            Thread thread = new Thread(r, name + "-startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            final Map<String, CompletableFuture<Duration>> futures = new LinkedHashMap<>();
+
+            for (Phase phase : phases.values()) {
+                final CompletableFuture<?>[] dependencies = phase.dependencies.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+                futures.put(
+                    phase.name,
+                    CompletableFuture.allOf(dependencies).thenApplyAsync(ignored -> phase.run(), executor));
+            }
+
+            final Map<String, Duration> answer = new LinkedHashMap<>();
+            final List<String> failed = new ArrayList<>();
+            Throwable failure = null;
+
+            for (Map.Entry<String, CompletableFuture<Duration>> entry : futures.entrySet()) {
+                try {
+                    answer.put(entry.getKey(), entry.getValue().get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while starting " + name, e);
+                } catch (ExecutionException e) {
+                    failed.add(entry.getKey());
+
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+
+            if (failure != null) {
+                throw new IllegalStateException("Failure starting " + name + " (phases: " + failed + ")", failure);
+            }
+
+            final Duration total = Duration.ofNanos(System.nanoTime() - start);
+
+            answer.forEach((phase, duration) -> {
+                Timer.builder(id + ".phase.time")
+                    .tag("phase", phase)
+                    .register(registry)
+                    .record(duration);
+            });
+
+            Timer.builder(id + ".time")
+                .register(registry)
+                .record(total);
+
+            LOGGER.info("Started {} in {}ms ({})",
+                name,
+                total.toMillis(),
+                answer.entrySet().stream()
+                    .map(e -> e.getKey() + ": " + e.getValue().toMillis() + "ms")
+                    .collect(Collectors.joining(", ")));
+
+            return answer;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Phase {
+        final String name;
+        final ThrowingRunnable<Exception> action;
+        final List<String> dependencies;
+
+        Phase(String name, ThrowingRunnable<Exception> action, List<String> dependencies) {
+            this.name = name;
+            this.action = action;
+            this.dependencies = dependencies;
+        }
+
+        Duration run() {
+            final long start = System.nanoTime();
+
+            LOGGER.debug("Starting phase {}", name);
+
+            try {
+                action.run();
+            } catch (Exception e) {
+                throw e instanceof RuntimeException ? (RuntimeException) e : new CompletionException(e);
+            }
+
+            final Duration answer = Duration.ofNanos(System.nanoTime() - start);
+
+            LOGGER.debug("Phase {} completed in {}ms", name, answer.toMillis());
+
+            return answer;
+        }
+    }
+}
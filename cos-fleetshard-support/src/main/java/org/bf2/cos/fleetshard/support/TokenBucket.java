@@ -0,0 +1,95 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A token bucket that caps the rate of an operation while allowing short bursts up to the capacity of the bucket.
+ * </p>
+ * Tokens are refilled continuously at the configured rate. A rate lower or equal to zero means unlimited, in which case
+ * permits are always granted.
+ */
+public class TokenBucket {
+    private final double rate;
+    private final double capacity;
+    private final LongSupplier clock;
+
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond the rate at which tokens are refilled.
+     * @param capacity         the max number of tokens that can be accumulated.
+     */
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int capacity, LongSupplier clock) {
+        this.rate = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, capacity);
+        this.clock = clock;
+        this.tokens = this.capacity;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    public boolean isUnlimited() {
+        return rate <= 0;
+    }
+
+    /**
+     * Try to take the given number of permits from the bucket.
+     *
+     * @param  permits the number of permits, a request for more permits than the capacity is granted once the bucket is
+     *                 full.
+     * @return         zero if the permits have been granted, otherwise the number of nanoseconds till they become
+     *                 available.
+     */
+    public synchronized long tryAcquire(int permits) {
+        if (isUnlimited()) {
+            return 0;
+        }
+
+        refill();
+
+        final double required = Math.min(permits, capacity);
+        if (tokens >= required) {
+            tokens -= permits;
+            return 0;
+        }
+
+        return (long) Math.ceil((required - tokens) / rate);
+    }
+
+    /**
+     * Give back permits that have been acquired but not used.
+     *
+     * @param permits the number of permits.
+     */
+    public synchronized void release(int permits) {
+        if (isUnlimited() || permits <= 0) {
+            return;
+        }
+
+        refill();
+
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    public synchronized double getAvailable() {
+        if (isUnlimited()) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        refill();
+
+        return tokens;
+    }
+
+    private void refill() {
+        final long now = clock.getAsLong();
+
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * rate);
+        refilledAt = now;
+    }
+}
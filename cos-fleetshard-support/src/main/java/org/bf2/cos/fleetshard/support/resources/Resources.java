@@ -27,6 +27,7 @@ public final class Resources {
     public static final String LABEL_UOW = "cos.bf2.org/uow";
 
     public static final String ANNOTATION_UPDATED_TIMESTAMP = "cos.bf2.org/update.timestamp";
+    public static final String ANNOTATION_DEPLOYMENT_CHECKSUM = "cos.bf2.org/deployment.checksum";
 
     public static final String CONNECTOR_PREFIX = "mctr-";
     public static final String CONNECTOR_SECRET_SUFFIX = "-config";
@@ -1,12 +1,17 @@
 package org.bf2.cos.fleetshard.support.watch;
 
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.bf2.cos.fleetshard.api.ManagedConnector;
 
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedInformer;
 
 public final class Informers {
+    private static final long SYNC_POLL_INTERVAL = 10;
+
     private Informers() {
     }
 
@@ -28,4 +33,27 @@ public final class Informers {
             }
         };
     }
+
+    /**
+     * Wait for the given informer to have performed its initial list, so its cache reflects the state of the cluster.
+     *
+     * @param  informer             the informer.
+     * @param  timeout              how long to wait.
+     * @throws TimeoutException     if the informer has not synced within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public static void waitForSync(SharedInformer<?> informer, Duration timeout)
+        throws TimeoutException, InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + timeout.toMillis();
+
+        while (!informer.hasSynced()) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException(
+                    "Timeout waiting for the informer of " + informer.getApiTypeClass().getSimpleName() + " to sync");
+            }
+
+            Thread.sleep(SYNC_POLL_INTERVAL);
+        }
+    }
 }
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class EventQueueTest {
     private EventQueue<String, String> queue;
@@ -88,4 +89,72 @@ public class EventQueueTest {
         assertThat(queue.size()).isEqualTo(0);
         assertThat(queue.isPoisoned()).isFalse();
     }
+
+    @Test
+    void coalesce() throws InterruptedException {
+        queue.submit("A");
+        queue.submit("A");
+        queue.submit("B");
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getCoalesced()).isEqualTo(1);
+
+        List<String> answer = new ArrayList<>();
+        queue.poll(1, TimeUnit.MILLISECONDS, answer::addAll);
+        assertThat(answer).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void overflow() throws InterruptedException {
+        queue.setCapacity(2);
+        queue.submit("A");
+        queue.submit("B");
+
+        assertThat(queue.isPoisoned()).isFalse();
+
+        queue.submit("C");
+
+        assertThat(queue.size()).isEqualTo(0);
+        assertThat(queue.isPoisoned()).isTrue();
+        assertThat(queue.getOverflows()).isEqualTo(1);
+
+        List<String> answer = new ArrayList<>();
+        queue.poll(1, TimeUnit.MILLISECONDS, answer::addAll);
+        assertThat(answer).containsOnly("x");
+    }
+
+    @Test
+    void submitWhileProcessing() {
+        queue.submit("A");
+
+        List<String> answer = new ArrayList<>();
+        queue.run(items -> {
+            // producers must not be blocked while a batch is processed
+            queue.submit("B");
+            answer.addAll(items);
+        });
+
+        assertThat(answer).containsOnly("a");
+        assertThat(queue.size()).isEqualTo(1);
+
+        answer.clear();
+        queue.run(answer::addAll);
+        assertThat(answer).containsOnly("b");
+    }
+
+    @Test
+    void restoreOnFailure() {
+        queue.submit("A");
+
+        assertThatThrownBy(() -> queue.run(items -> {
+            queue.submit("B");
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(queue.size()).isEqualTo(2);
+
+        List<String> answer = new ArrayList<>();
+        queue.run(answer::addAll);
+        assertThat(answer).containsOnly("a", "b");
+    }
 }
@@ -0,0 +1,91 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorOperatorSpecBuilder;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OperatorRegistryTest {
+    private OperatorRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new OperatorRegistry(null, "test");
+        registry.put(operator("camel-1", "camel", "1.1.0"));
+        registry.put(operator("camel-2", "camel", "1.3.0"));
+        registry.put(operator("camel-3", "camel", "2.0.0"));
+        registry.put(operator("camel-4", "camel", "invalid"));
+        registry.put(operator("debezium-1", "debezium", "1.5.0"));
+    }
+
+    @Test
+    void availableSelectsHighestVersionInRange() {
+        assertThat(registry.available(new OperatorSelector(null, "camel", "[1.0.0,2.0.0)")))
+            .get()
+            .extracting(Operator::getId)
+            .isEqualTo("camel-2");
+        assertThat(registry.available(new OperatorSelector(null, "camel", "[1.0.0,3.0.0)")))
+            .get()
+            .extracting(Operator::getId)
+            .isEqualTo("camel-3");
+        assertThat(registry.available(new OperatorSelector(null, "camel", "[3.0.0,4.0.0)")))
+            .isEmpty();
+        assertThat(registry.available(new OperatorSelector(null, "unknown", "[1.0.0,2.0.0)")))
+            .isEmpty();
+    }
+
+    @Test
+    void assignValidatesOperatorId() {
+        assertThat(registry.assign(new OperatorSelector("camel-1", "camel", "[1.0.0,2.0.0)")))
+            .get()
+            .extracting(Operator::getId)
+            .isEqualTo("camel-1");
+        assertThat(registry.assign(new OperatorSelector("camel-5", "camel", "[1.0.0,2.0.0)")))
+            .isEmpty();
+
+        assertThatThrownBy(() -> registry.assign(new OperatorSelector("debezium-1", "camel", "[1.0.0,2.0.0)")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.assign(new OperatorSelector("camel-3", "camel", "[1.0.0,2.0.0)")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void listenersAreNotified() {
+        final List<Collection<Operator>> events = new ArrayList<>();
+
+        registry.addListener(events::add);
+        registry.remove(operator("camel-3", "camel", "2.0.0"));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0)).hasSize(4).extracting(Operator::getId).doesNotContain("camel-3");
+
+        assertThat(registry.available(new OperatorSelector(null, "camel", "[1.0.0,3.0.0)")))
+            .get()
+            .extracting(Operator::getId)
+            .isEqualTo("camel-2");
+    }
+
+    private static ManagedConnectorOperator operator(String id, String type, String version) {
+        return new ManagedConnectorOperatorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(id)
+                .build())
+            .withSpec(new ManagedConnectorOperatorSpecBuilder()
+                .withType(type)
+                .withVersion(version)
+                .build())
+            .build();
+    }
+}
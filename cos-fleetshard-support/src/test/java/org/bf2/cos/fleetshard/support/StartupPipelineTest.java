@@ -0,0 +1,83 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StartupPipelineTest {
+
+    @Test
+    void independentPhasesRunConcurrently() {
+        final CountDownLatch latch = new CountDownLatch(2);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // each phase waits for the other one, so the pipeline only completes if they run concurrently
+        Map<String, Duration> timings = new StartupPipeline("test")
+            .phase("a", () -> {
+                latch.countDown();
+                assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            })
+            .phase("b", () -> {
+                latch.countDown();
+                assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            })
+            .run(registry, "startup");
+
+        assertThat(timings).containsOnlyKeys("a", "b");
+        assertThat(registry.get("startup.phase.time").tag("phase", "a").timer().count()).isEqualTo(1);
+        assertThat(registry.get("startup.phase.time").tag("phase", "b").timer().count()).isEqualTo(1);
+        assertThat(registry.get("startup.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dependenciesAreHonored() {
+        final List<String> completed = new CopyOnWriteArrayList<>();
+
+        new StartupPipeline("test")
+            .phase("a", () -> {
+                Thread.sleep(50);
+                completed.add("a");
+            })
+            .phase("b", () -> completed.add("b"))
+            .phase("c", () -> completed.add("c"), "a", "b")
+            .run(new SimpleMeterRegistry(), "startup");
+
+        assertThat(completed).containsExactly("b", "a", "c");
+    }
+
+    @Test
+    void failuresAreReported() {
+        final List<String> completed = new CopyOnWriteArrayList<>();
+
+        StartupPipeline pipeline = new StartupPipeline("test")
+            .phase("a", () -> {
+                throw new IllegalStateException("boom");
+            })
+            .phase("b", () -> completed.add("b"))
+            .phase("c", () -> completed.add("c"), "a");
+
+        assertThatThrownBy(() -> pipeline.run(new SimpleMeterRegistry(), "startup"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("[a, c]")
+            .hasRootCauseMessage("boom");
+
+        assertThat(completed).containsExactly("b");
+    }
+
+    @Test
+    void unknownDependency() {
+        assertThatThrownBy(() -> new StartupPipeline("test").phase("a", () -> {
+        }, "b"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+package org.bf2.cos.fleetshard.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+    private AtomicLong clock;
+
+    @BeforeEach
+    private void setUp() {
+        this.clock = new AtomicLong();
+    }
+
+    @Test
+    void burstThenThrottle() {
+        TokenBucket bucket = new TokenBucket(2, 4, clock::get);
+
+        assertThat(bucket.tryAcquire(4)).isZero();
+        assertThat(bucket.tryAcquire(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(bucket.tryAcquire(1)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void refillIsCappedToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5, clock::get);
+
+        assertThat(bucket.tryAcquire(5)).isZero();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(bucket.getAvailable()).isEqualTo(5);
+        assertThat(bucket.tryAcquire(5)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+    }
+
+    @Test
+    void release() {
+        TokenBucket bucket = new TokenBucket(1, 3, clock::get);
+
+        assertThat(bucket.tryAcquire(3)).isZero();
+
+        bucket.release(2);
+
+        assertThat(bucket.tryAcquire(2)).isZero();
+        assertThat(bucket.tryAcquire(1)).isPositive();
+
+        bucket.release(10);
+
+        assertThat(bucket.getAvailable()).isEqualTo(3);
+    }
+
+    @Test
+    void unlimited() {
+        TokenBucket bucket = new TokenBucket(0, 1, clock::get);
+
+        assertThat(bucket.isUnlimited()).isTrue();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(bucket.tryAcquire(10)).isZero();
+        }
+    }
+}
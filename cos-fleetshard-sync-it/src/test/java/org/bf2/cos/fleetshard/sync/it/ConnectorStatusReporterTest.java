@@ -0,0 +1,146 @@
+package org.bf2.cos.fleetshard.sync.it;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.bf2.cos.fleetshard.api.ConnectorStatusSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelectorBuilder;
+import org.bf2.cos.fleetshard.it.resources.OidcTestResource;
+import org.bf2.cos.fleetshard.it.resources.WireMockTestInstance;
+import org.bf2.cos.fleetshard.it.resources.WireMockTestResource;
+import org.bf2.cos.fleetshard.support.resources.Connectors;
+import org.bf2.cos.fleetshard.sync.it.support.SyncTestSupport;
+import org.junit.jupiter.api.Test;
+
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import io.fabric8.kubernetes.api.model.Condition;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matchingJsonPath;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bf2.cos.fleetshard.api.ManagedConnector.DESIRED_STATE_READY;
+import static org.bf2.cos.fleetshard.support.resources.Resources.uid;
+
+@QuarkusTest
+@TestProfile(ConnectorStatusReporterTest.Profile.class)
+public class ConnectorStatusReporterTest extends SyncTestSupport {
+    @WireMockTestInstance
+    com.github.tomakehurst.wiremock.WireMockServer server;
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    void statusIsReportedInBatches() {
+        final String clusterUrl = "/api/connector_mgmt/v1/kafka_connector_clusters/" + config.cluster().id();
+        final Operator operator = new Operator(uid(), "operator-type", "1.2.3");
+        final List<String> deployments = new ArrayList<>();
+
+        // more connectors than the batch size, so both a full batch and a partial one flushed by the
+        // time window are sent
+        for (int i = 0; i < 3; i++) {
+            final String deploymentId = uid();
+            final Condition condition = new Condition(null, uid(), null, uid(), uid(), uid());
+
+            final ManagedConnector connector = Connectors.newConnector(
+                config.cluster().id(),
+                "connector-" + i,
+                deploymentId,
+                Map.of());
+
+            connector.getSpec().setOperatorSelector(new OperatorSelectorBuilder().withId(operator.getId()).build());
+
+            kubernetesClient
+                .resources(ManagedConnector.class)
+                .inNamespace(config.connectors().namespace())
+                .create(connector);
+
+            connector.getStatus().setConnectorStatus(new ConnectorStatusSpecBuilder()
+                .withPhase(DESIRED_STATE_READY)
+                .withConditions(condition)
+                .withAssignedOperator(operator)
+                .build());
+
+            kubernetesClient
+                .resources(ManagedConnector.class)
+                .inNamespace(config.connectors().namespace())
+                .withName(connector.getMetadata().getName())
+                .replaceStatus(connector);
+
+            deployments.add(deploymentId);
+        }
+
+        untilAsserted(() -> {
+            for (String deploymentId : deployments) {
+                server.verify(putRequestedFor(urlEqualTo(clusterUrl + "/deployments/" + deploymentId + "/status"))
+                    .withHeader("Content-Type", equalTo(APPLICATION_JSON))
+                    .withRequestBody(matchingJsonPath("$[?($.phase == 'ready')]")));
+            }
+
+            // the status are dispatched in batches bounded by the configured batch size
+            DistributionSummary batches = registry.get(config.metrics().baseName() + ".connectors.status.batch.size")
+                .summary();
+
+            assertThat(batches.count()).isGreaterThanOrEqualTo(2);
+            assertThat(batches.max()).isEqualTo(2);
+        });
+    }
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            final String ns = "cos-sync-" + uid();
+
+            return Map.of(
+                "cos.cluster.id", uid(),
+                "test.namespace", ns,
+                "cos.connectors.namespace", ns,
+                "cos.operators.namespace", ns,
+                "cos.cluster.status.sync-interval", "disabled",
+                "cos.connectors.poll-interval", "disabled",
+                "cos.connectors.resync-interval", "disabled",
+                "cos.connectors.status.resync-interval", "1s",
+                "cos.connectors.status.batch-size", "2",
+                "cos.connectors.status.batch-window", "3s");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(
+                new TestResourceEntry(OidcTestResource.class),
+                new TestResourceEntry(FleetManagerTestResource.class));
+        }
+    }
+
+    public static class FleetManagerTestResource extends WireMockTestResource {
+        @Override
+        protected Map<String, String> doStart(com.github.tomakehurst.wiremock.WireMockServer server) {
+            MappingBuilder request = WireMock.put(WireMock.urlPathMatching(
+                "/api/connector_mgmt/v1/kafka_connector_clusters/.*/deployments/.*/status"));
+
+            server.stubFor(request.willReturn(WireMock.ok()));
+
+            return Map.of("control-plane-base-url", server.baseUrl());
+        }
+
+        @Override
+        public void inject(QuarkusTestResourceLifecycleManager.TestInjector testInjector) {
+            injectServerInstance(testInjector);
+        }
+    }
+}
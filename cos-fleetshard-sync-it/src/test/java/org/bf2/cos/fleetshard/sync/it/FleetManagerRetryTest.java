@@ -0,0 +1,145 @@
+package org.bf2.cos.fleetshard.sync.it;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import org.bf2.cos.fleet.manager.model.KafkaConnectionSettings;
+import org.bf2.cos.fleet.manager.model.ServiceAccount;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.it.resources.OidcTestResource;
+import org.bf2.cos.fleetshard.it.resources.WireMockTestInstance;
+import org.bf2.cos.fleetshard.it.resources.WireMockTestResource;
+import org.bf2.cos.fleetshard.sync.it.support.SyncTestSupport;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.bf2.cos.fleetshard.api.ManagedConnector.DESIRED_STATE_READY;
+import static org.bf2.cos.fleetshard.support.resources.Resources.uid;
+
+@QuarkusTest
+@TestProfile(FleetManagerRetryTest.Profile.class)
+public class FleetManagerRetryTest extends SyncTestSupport {
+    public static final String DEPLOYMENT_ID = uid();
+
+    @WireMockTestInstance
+    WireMockServer server;
+
+    @Test
+    void transientFailuresAreRetried() {
+        final String deploymentsUrl = "/api/connector_mgmt/v1/kafka_connector_clusters/"
+            + config.cluster().id()
+            + "/deployments";
+
+        RestAssured.given()
+            .contentType(MediaType.TEXT_PLAIN)
+            .accept(MediaType.TEXT_PLAIN)
+            .body(0L)
+            .post("/test/connectors/deployment/provisioner/queue");
+
+        until(
+            () -> fleetShardClient.getConnectorByDeploymentId(DEPLOYMENT_ID),
+            item -> item.getSpec().getDeployment().getDeploymentResourceVersion() == 1L);
+
+        // the failed page has been retried, not the whole sync
+        server.verify(2, getRequestedFor(urlPathEqualTo(deploymentsUrl)));
+    }
+
+    public static class Profile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            final String ns = "cos-sync-" + uid();
+
+            return Map.of(
+                "cos.cluster.id", uid(),
+                "test.namespace", ns,
+                "cos.connectors.namespace", ns,
+                "cos.operators.namespace", ns,
+                "cos.cluster.status.sync-interval", "disabled",
+                "cos.connectors.poll-interval", "disabled",
+                "cos.connectors.resync-interval", "disabled",
+                "cos.connectors.status.resync-interval", "disabled",
+                "cos.manager.retry.max-attempts", "3",
+                "cos.manager.retry.initial-backoff", "1s");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(
+                new TestResourceEntry(OidcTestResource.class),
+                new TestResourceEntry(FleetManagerTestResource.class));
+        }
+    }
+
+    public static class FleetManagerTestResource extends WireMockTestResource {
+        @Override
+        protected Map<String, String> doStart(WireMockServer server) {
+            final String clusterId = ConfigProvider.getConfig().getValue("cos.cluster.id", String.class);
+            final String deploymentsUrl = "/api/connector_mgmt/v1/kafka_connector_clusters/" + clusterId + "/deployments";
+
+            JsonNode list = deploymentList(
+                deployment(DEPLOYMENT_ID, 1L, spec -> {
+                    spec.connectorId("connector-1");
+                    spec.connectorTypeId("connector-type-1");
+                    spec.connectorResourceVersion(1L);
+                    spec.kafka(
+                        new KafkaConnectionSettings()
+                            .url("kafka.acme.com:2181"));
+                    spec.serviceAccount(
+                        new ServiceAccount()
+                            .clientId(uid())
+                            .clientSecret(uid()));
+                    spec.connectorSpec(node(n -> {
+                        n.with("connector").put("foo", "connector-foo");
+                    }));
+                    spec.shardMetadata(node(n -> {
+                        n.put("connector_type", "sink");
+                        n.put("connector_image", "quay.io/mcs_dev/aws-s3-sink:0.0.1");
+                        n.withArray("operators").addObject()
+                            .put("type", "camel-connector-operator")
+                            .put("version", "[1.0.0,2.0.0)");
+                    }));
+                    spec.desiredState(DESIRED_STATE_READY);
+                }));
+
+            // the first call fails with a transient error, the second one succeeds
+            server.stubFor(WireMock.get(urlPathEqualTo(deploymentsUrl))
+                .withQueryParam("gt_version", equalTo("0"))
+                .inScenario("retry")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(WireMock.serviceUnavailable())
+                .willSetStateTo("recovered"));
+
+            server.stubFor(WireMock.get(urlPathEqualTo(deploymentsUrl))
+                .withQueryParam("gt_version", equalTo("0"))
+                .inScenario("retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(WireMock.aResponse()
+                    .withHeader("Content-Type", APPLICATION_JSON)
+                    .withJsonBody(list)));
+
+            return Map.of("control-plane-base-url", server.baseUrl());
+        }
+
+        @Override
+        public void inject(QuarkusTestResourceLifecycleManager.TestInjector testInjector) {
+            injectServerInstance(testInjector);
+        }
+    }
+}
@@ -3,37 +3,55 @@ package org.bf2.cos.fleetshard.sync;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import org.bf2.cos.fleetshard.support.StartupPipeline;
+import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
 import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
 import org.bf2.cos.fleetshard.sync.connector.ConnectorDeploymentSync;
 import org.bf2.cos.fleetshard.sync.connector.ConnectorStatusSync;
+import org.bf2.cos.fleetshard.sync.connector.ConnectorSyncCheckpoint;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @ApplicationScoped
 public class FleetShardSync {
     @Inject
     FleetShardClient fleetShardClient;
     @Inject
+    FleetManagerClient fleetManagerClient;
+    @Inject
     ConnectorDeploymentSync deploymentSync;
     @Inject
     ConnectorStatusSync statusSync;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    MeterRegistry registry;
 
     public void start() {
-        try {
-            fleetShardClient.getOrCreateManagedConnectorCluster();
-            fleetShardClient.start();
-
-            deploymentSync.start();
-            statusSync.start();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        // the cluster, the informers and the checkpoint are independent, the syncs need the informers to be synced so
+        // the first poll and re-sync see the connectors that already exist
+        new StartupPipeline("sync")
+            .phase("cluster", fleetShardClient::getOrCreateManagedConnectorCluster)
+            .phase("informers", () -> {
+                fleetShardClient.start();
+                fleetShardClient.waitForSync(config.startup().syncTimeout());
+            })
+            .phase("checkpoint", checkpoint::start)
+            .phase("deployments", deploymentSync::start, "cluster", "informers", "checkpoint")
+            .phase("status", statusSync::start, "cluster", "informers", "checkpoint")
+            .run(registry, config.metrics().baseName() + ".startup");
     }
 
     public void stop() {
         try {
             deploymentSync.stop();
             statusSync.stop();
+            checkpoint.stop();
 
             fleetShardClient.stop();
+            fleetManagerClient.stop();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -50,6 +50,25 @@ public interface FleetShardSyncConfig {
      */
     Manager manager();
 
+    /**
+     * Configuration options for the startup.
+     *
+     * @return {@link Startup}
+     */
+    Startup startup();
+
+    interface Startup {
+        /**
+         * Determine how long the startup waits for the informers to be synced with the cluster, before any deployment is
+         * polled.
+         *
+         * @return the timeout.
+         */
+        @WithDefault("60s")
+        @WithConverter(DurationConverter.class)
+        Duration syncTimeout();
+    }
+
     interface Cluster {
         /**
          * The ID assigned to the operator.
@@ -110,6 +129,8 @@ public interface FleetShardSyncConfig {
         @WithConverter(DurationConverter.class)
         Duration pollInterval();
 
+        Poll poll();
+
         /**
          * Determine how often the synchronizer should re-sync the {@link ManagedConnector} with the Control Plane.
          *
@@ -119,10 +140,127 @@ public interface FleetShardSyncConfig {
         @WithConverter(DurationConverter.class)
         Duration resyncInterval();
 
+        Resync resync();
+
         Status status();
 
         Provisioner provisioner();
 
+        Checkpoint checkpoint();
+
+        interface Poll {
+            /**
+             * Determine the max interval between polls for deployments. The interval grows from the poll interval up to
+             * this value while polls do not return any change. A value lower or equal to the poll interval disables the
+             * adaptive polling.
+             *
+             * @return the max poll interval.
+             */
+            @WithDefault("60s")
+            @WithConverter(DurationConverter.class)
+            Duration maxInterval();
+
+            /**
+             * Determine how much the poll interval grows after a poll that does not return any change.
+             *
+             * @return the multiplier.
+             */
+            @WithDefault("2")
+            double multiplier();
+
+            /**
+             * Determine the random variation applied to the poll interval, as a fraction of the interval.
+             *
+             * @return the jitter.
+             */
+            @WithDefault("0.1")
+            double jitter();
+
+            /**
+             * Determine how many deployments are requested for each page. A value of zero lets the Control Plane decide,
+             * unless the page size is adaptive in which case it starts from the min page size.
+             *
+             * @return the page size.
+             */
+            @WithDefault("0")
+            int pageSize();
+
+            /**
+             * Determine the smallest page size the adaptive page size can shrink to.
+             *
+             * @return the min page size.
+             */
+            @WithDefault("10")
+            int minPageSize();
+
+            /**
+             * Determine the largest page size the adaptive page size can grow to.
+             *
+             * @return the max page size.
+             */
+            @WithDefault("500")
+            int maxPageSize();
+
+            /**
+             * Determine the response time the adaptive page size aims for: the page size grows while full pages are
+             * served within this target and shrinks as soon as a page takes longer. A value of zero disables the adaptive
+             * page size.
+             *
+             * @return the target latency.
+             */
+            @WithDefault("0s")
+            @WithConverter(DurationConverter.class)
+            Duration targetLatency();
+        }
+
+        interface Resync {
+            /**
+             * Determine if the full re-sync is spread over the re-sync interval, one slice of deployments at a time,
+             * instead of re-provisioning all the deployments in one go.
+             *
+             * @return true if the re-sync is sliced.
+             */
+            @WithDefault("false")
+            boolean sliced();
+
+            /**
+             * Determine how many deployments are fetched from the Control Plane for each slice.
+             *
+             * @return the slice size.
+             */
+            @WithDefault("20")
+            int sliceSize();
+
+            /**
+             * Determine the max number of writes per second a sliced re-sync can perform. A value lower or equal to zero
+             * means unlimited.
+             *
+             * @return the writes per second.
+             */
+            @WithDefault("10")
+            double writesPerSecond();
+        }
+
+        interface Checkpoint {
+            /**
+             * Determine if the synchronizer should persist a checkpoint of its progress, so a restarted synchronizer resumes
+             * from the last applied revision instead of replaying all the deployments and status.
+             *
+             * @return true if the checkpoint is enabled.
+             */
+            @WithDefault("false")
+            boolean enabled();
+
+            /**
+             * Determine how often the checkpoint is written, changes happening in between are batched in a single write.
+             *
+             * @return the checkpoint interval.
+             */
+            @WithDefault("30s")
+            @WithConverter(DurationConverter.class)
+            Duration interval();
+        }
+
         /**
          * An optional map of additional labels to be added to the generated {@link ManagedConnector}.
          *
@@ -157,6 +295,66 @@ public interface FleetShardSyncConfig {
             @WithDefault("1s")
             @WithConverter(DurationConverter.class)
             Duration updateInterval();
+
+            /**
+             * Determine how many status updates are gathered before being sent to the Control Plane.
+             *
+             * @return the batch size.
+             */
+            @WithDefault("10")
+            int batchSize();
+
+            /**
+             * Determine how long status updates can be gathered before being sent to the Control Plane, even if the batch
+             * is not full.
+             *
+             * @return the batch window.
+             */
+            @WithDefault("0s")
+            @WithConverter(DurationConverter.class)
+            Duration batchWindow();
+
+            /**
+             * Determine how long the last status accepted by the Control Plane is remembered, an unchanged status is not
+             * sent again until it expires. A value of zero disables the cache.
+             *
+             * @return the cache TTL.
+             */
+            @WithDefault("300s")
+            @WithConverter(DurationConverter.class)
+            Duration cacheTtl();
+
+            /**
+             * Determine how many connectors can be waiting for a status update, when exceeded the pending updates are
+             * replaced by a full resync. A value of zero means unbounded.
+             *
+             * @return the queue capacity.
+             */
+            @WithDefault("0")
+            int queueCapacity();
+
+            /**
+             * Determine how many times the status of a connector is pushed before giving up, the status is then only
+             * pushed again by the next re-sync or when the connector changes. A value of zero means unbounded.
+             *
+             * @return the max number of attempts.
+             */
+            @WithDefault("3")
+            int maxAttempts();
+
+            Resync resync();
+
+            interface Resync {
+                /**
+                 * Determine the max number of status pushes per second performed by a re-sync. When set, the re-sync is
+                 * spread over the re-sync interval and status updates triggered by watch events take precedence over it. A
+                 * value lower or equal to zero disables throttling, so all the connectors are pushed in one go.
+                 *
+                 * @return the max rate.
+                 */
+                @WithDefault("0")
+                double maxRate();
+            }
         }
 
         interface Provisioner {
@@ -168,6 +366,85 @@ public interface FleetShardSyncConfig {
             @WithDefault("15s")
             @WithConverter(DurationConverter.class)
             Duration queueTimeout();
+
+            /**
+             * Determine how many deployments can be provisioned concurrently. Revisions of the same deployment are always
+             * provisioned sequentially.
+             *
+             * @return the number of workers.
+             */
+            @WithDefault("4")
+            int workers();
+
+            /**
+             * Determine how many pages of deployments can be fetched from the Control Plane ahead of the one being
+             * provisioned. A value of zero disables prefetching, so pages are fetched one at a time.
+             *
+             * @return the number of pages to prefetch.
+             */
+            @WithDefault("2")
+            int prefetch();
+
+            /**
+             * Determine if pages of deployments are parsed incrementally and handed over to the provisioner a few at a
+             * time, so memory usage is bounded by the number of workers and by the raw size of a page rather than by the
+             * parsed page. A page is fully transferred before being provisioned. Prefetching is not performed when
+             * streaming is enabled.
+             *
+             * @return true if pages are streamed.
+             */
+            @WithDefault("false")
+            boolean streaming();
+
+            /**
+             * Determine if resources should be written even if their desired state has not changed since the last time
+             * they have been provisioned.
+             *
+             * @return true if the resources should always be written.
+             */
+            @WithDefault("false")
+            boolean forceResync();
+
+            Retry retry();
+
+            interface Retry {
+                /**
+                 * Determine how many times a deployment that fails to be provisioned is retried before giving up till a
+                 * newer revision is polled or a full resync returns it. A value of zero disables retries, so a failure
+                 * aborts the whole batch of deployments.
+                 *
+                 * @return the max number of attempts.
+                 */
+                @WithDefault("5")
+                int maxAttempts();
+
+                /**
+                 * The backoff before the first retry, doubled at each subsequent attempt.
+                 *
+                 * @return the initial backoff.
+                 */
+                @WithDefault("10s")
+                @WithConverter(DurationConverter.class)
+                Duration initialBackoff();
+
+                /**
+                 * The max backoff between two attempts.
+                 *
+                 * @return the max backoff.
+                 */
+                @WithDefault("300s")
+                @WithConverter(DurationConverter.class)
+                Duration maxBackoff();
+
+                /**
+                 * Determine if the deployments waiting to be retried are exposed by the
+                 * {@code /debug/connectors/deployments/retries} endpoint.
+                 *
+                 * @return true if the debug endpoint is enabled.
+                 */
+                @WithDefault("false")
+                boolean debug();
+            }
         }
     }
 
@@ -206,5 +483,112 @@ public interface FleetShardSyncConfig {
         @WithDefault("10s")
         @WithConverter(DurationConverter.class)
         Duration readTimeout();
+
+        Retry retry();
+
+        CircuitBreaker circuitBreaker();
+
+        Transport transport();
+
+        interface Retry {
+            /**
+             * Determine how many times a call to the Control Plane is attempted when it fails with a transient error. A
+             * value of one disables retries.
+             *
+             * @return the max number of attempts.
+             */
+            @WithDefault("3")
+            int maxAttempts();
+
+            /**
+             * The backoff before the first retry, doubled at each subsequent attempt.
+             *
+             * @return the initial backoff.
+             */
+            @WithDefault("1s")
+            @WithConverter(DurationConverter.class)
+            Duration initialBackoff();
+
+            /**
+             * The max backoff between two attempts.
+             *
+             * @return the max backoff.
+             */
+            @WithDefault("10s")
+            @WithConverter(DurationConverter.class)
+            Duration maxBackoff();
+
+            /**
+             * The random variation applied to the backoff, as a fraction of the backoff.
+             *
+             * @return the jitter.
+             */
+            @WithDefault("0.2")
+            double jitter();
+
+            /**
+             * An optional map to override the max number of attempts per operation, valid operations are
+             * {@code deployments}, {@code connector-status} and {@code cluster-status}.
+             *
+             * @return the max number of attempts by operation.
+             */
+            Map<String, Integer> operations();
+        }
+
+        interface CircuitBreaker {
+            /**
+             * Determine how many consecutive failed calls open the circuit. A value of zero disables the circuit breaker.
+             *
+             * @return the failure threshold.
+             */
+            @WithDefault("5")
+            int failureThreshold();
+
+            /**
+             * Determine how long the circuit stays open, while open polling and status updates are paused.
+             *
+             * @return the open duration.
+             */
+            @WithDefault("30s")
+            @WithConverter(DurationConverter.class)
+            Duration openDuration();
+        }
+
+        interface Transport {
+            /**
+             * Determine the max number of pooled connections to the Control Plane.
+             *
+             * @return the max number of connections.
+             */
+            @WithDefault("20")
+            int maxConnections();
+
+            /**
+             * Determine how long an idle connection is kept alive when the Control Plane does not advertise a keep-alive
+             * timeout. A value of zero closes connections once a call completes.
+             *
+             * @return the keep-alive duration.
+             */
+            @WithDefault("60s")
+            @WithConverter(DurationConverter.class)
+            Duration keepAlive();
+
+            /**
+             * Determine how long a call waits for a connection to be available in the pool.
+             *
+             * @return the timeout.
+             */
+            @WithDefault("10s")
+            @WithConverter(DurationConverter.class)
+            Duration leaseTimeout();
+
+            /**
+             * Determine if compressed responses are requested to the Control Plane.
+             *
+             * @return true if responses can be compressed.
+             */
+            @WithDefault("true")
+            boolean compression();
+        }
     }
 }
@@ -1,6 +1,7 @@
 package org.bf2.cos.fleetshard.sync;
 
 import java.time.Duration;
+import java.util.Date;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -13,6 +14,7 @@ import org.quartz.SchedulerException;
 import org.quartz.SimpleScheduleBuilder;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +26,21 @@ public class FleetShardSyncScheduler {
     org.quartz.Scheduler quartz;
 
     public void schedule(String id, Class<? extends Job> jobType, Duration interval) throws SchedulerException {
+        schedule(id, jobType, interval, Duration.ZERO);
+    }
+
+    /**
+     * Schedule a job that fires after the given delay and then repeatedly at the given interval.
+     *
+     * @param  id                 the job id.
+     * @param  jobType            the job type.
+     * @param  interval           the interval.
+     * @param  delay              the delay before the first execution.
+     * @throws SchedulerException if the job cannot be scheduled.
+     */
+    public void schedule(String id, Class<? extends Job> jobType, Duration interval, Duration delay)
+        throws SchedulerException {
+
         if (interval.isZero()) {
             LOGGER.debug("Skipping scheduling job of type {} with id {} as the duration is zero", id, jobType);
             return;
@@ -35,7 +52,7 @@ public class FleetShardSyncScheduler {
 
         final Trigger trigger = TriggerBuilder.newTrigger()
             .withIdentity(id + ".trigger", id)
-            .startNow()
+            .startAt(new Date(System.currentTimeMillis() + Math.max(0, delay.toMillis())))
             .withSchedule(SimpleScheduleBuilder.simpleSchedule()
                 .withIntervalInMilliseconds(interval.toMillis())
                 .repeatForever())
@@ -46,6 +63,36 @@ public class FleetShardSyncScheduler {
             trigger);
     }
 
+    /**
+     * Replace the trigger of a job previously scheduled with {@link #schedule(String, Class, Duration)} so that it fires
+     * after the given interval and then repeatedly at that interval.
+     *
+     * @param  id                 the job id.
+     * @param  interval           the new interval.
+     * @throws SchedulerException if the job cannot be rescheduled.
+     */
+    public void reschedule(String id, Duration interval) throws SchedulerException {
+        if (interval.isZero()) {
+            LOGGER.debug("Skipping rescheduling job with id {} as the duration is zero", id);
+            return;
+        }
+
+        final TriggerKey key = TriggerKey.triggerKey(id + ".trigger", id);
+
+        final Trigger trigger = TriggerBuilder.newTrigger()
+            .withIdentity(key)
+            .forJob(JobKey.jobKey(id + ".job", id))
+            .startAt(new Date(System.currentTimeMillis() + interval.toMillis()))
+            .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                .withIntervalInMilliseconds(interval.toMillis())
+                .repeatForever())
+            .build();
+
+        if (quartz.rescheduleJob(key, trigger) == null) {
+            LOGGER.debug("Skipping rescheduling job with id {} as it is not scheduled", id);
+        }
+    }
+
     public void shutdown(String id) throws SchedulerException {
         quartz.deleteJob(JobKey.jobKey(id + ".job", id));
     }
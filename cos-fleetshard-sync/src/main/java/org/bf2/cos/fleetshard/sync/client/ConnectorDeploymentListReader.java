@@ -0,0 +1,158 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentAllOfMetadata;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Parse a page of {@link ConnectorDeploymentList} using the Jackson streaming API, handing the deployments over to a
+ * consumer as soon as they are read, so only a single deployment has to be kept in memory at any time instead of the
+ * whole page.
+ */
+public class ConnectorDeploymentListReader {
+    private final ObjectMapper mapper;
+    private final ObjectReader reader;
+
+    public ConnectorDeploymentListReader(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.reader = mapper.readerFor(ConnectorDeployment.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Read a page of deployments.
+     *
+     * @param  in          the JSON representation of a {@link ConnectorDeploymentList}, the stream is not closed.
+     * @param  consumer    the consumer of the deployments.
+     * @return             the page metadata, its items are left empty as they are handed over to the consumer.
+     * @throws IOException if the stream cannot be read or parsed.
+     */
+    public ConnectorDeploymentList read(InputStream in, Consumer<ConnectorDeployment> consumer) throws IOException {
+        final ConnectorDeploymentList answer = new ConnectorDeploymentList();
+
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object, got " + parser.currentToken());
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+
+                switch (name) {
+                    case ConnectorDeploymentList.JSON_PROPERTY_KIND:
+                        answer.setKind(parser.getValueAsString());
+                        break;
+                    case ConnectorDeploymentList.JSON_PROPERTY_PAGE:
+                        answer.setPage(parser.getValueAsInt());
+                        break;
+                    case ConnectorDeploymentList.JSON_PROPERTY_SIZE:
+                        answer.setSize(parser.getValueAsInt());
+                        break;
+                    case ConnectorDeploymentList.JSON_PROPERTY_TOTAL:
+                        answer.setTotal(parser.getValueAsInt());
+                        break;
+                    case ConnectorDeploymentList.JSON_PROPERTY_ITEMS:
+                        readItems(parser, consumer);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Read the resource versions of the deployments of a page without binding the deployments, so the order in which
+     * they have to be handed over can be determined before the page is read.
+     *
+     * @param  in          the JSON representation of a {@link ConnectorDeploymentList}, the stream is not closed.
+     * @return             the resource versions, in the order the deployments appear in the page, zero if not set.
+     * @throws IOException if the stream cannot be read or parsed.
+     */
+    public long[] readRevisions(InputStream in) throws IOException {
+        long[] answer = new long[16];
+        int count = 0;
+
+        try (JsonParser parser = mapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object, got " + parser.currentToken());
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+
+                if (!ConnectorDeploymentList.JSON_PROPERTY_ITEMS.equals(name) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (count == answer.length) {
+                        answer = Arrays.copyOf(answer, count * 2);
+                    }
+
+                    answer[count++] = readRevision(parser);
+                }
+            }
+        }
+
+        return Arrays.copyOf(answer, count);
+    }
+
+    private static long readRevision(JsonParser parser) throws IOException {
+        long answer = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            final JsonToken token = parser.nextToken();
+
+            if (!ConnectorDeployment.JSON_PROPERTY_METADATA.equals(name) || token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if (ConnectorDeploymentAllOfMetadata.JSON_PROPERTY_RESOURCE_VERSION.equals(field)) {
+                    answer = parser.getValueAsLong();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    private void readItems(JsonParser parser, Consumer<ConnectorDeployment> consumer) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of deployments, got " + parser.currentToken());
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            consumer.accept(reader.readValue(parser));
+        }
+    }
+}
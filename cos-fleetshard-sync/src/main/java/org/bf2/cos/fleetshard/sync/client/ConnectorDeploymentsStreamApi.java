@@ -0,0 +1,27 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.InputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * A raw view of the deployments endpoint of the Control Plane, so a page of deployments can be parsed incrementally by
+ * {@link ConnectorDeploymentListReader} instead of being fully materialized by the REST client.
+ */
+@Path("/api/connector_mgmt/v1/kafka_connector_clusters/{connector_cluster_id}")
+public interface ConnectorDeploymentsStreamApi {
+    @GET
+    @Path("/deployments")
+    @Produces(MediaType.APPLICATION_JSON)
+    InputStream getClusterAsignedConnectorDeployments(
+        @PathParam("connector_cluster_id") String connectorClusterId,
+        @QueryParam("page") String page,
+        @QueryParam("size") String size,
+        @QueryParam("gt_version") Long gtVersion,
+        @QueryParam("watch") String watch);
+}
@@ -0,0 +1,192 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.bf2.cos.fleetshard.support.resources.Resources;
+
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.api.model.SecretList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.informers.ListerWatcher;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.Reflector;
+import io.fabric8.kubernetes.client.informers.cache.SyncableStore;
+
+/**
+ * Cache the metadata of the connector secrets.
+ * </p>
+ * The informers of the kubernetes client store the resources as they are received and can't transform them, so a
+ * secret informer would hold the data and the managed fields of every connector secret. The secrets are instead listed
+ * and watched by a {@link Reflector} backed by this store, which keeps a trimmed copy of each secret with only the
+ * metadata needed to decide whether the secret has to be created or updated.
+ */
+class ConnectorSecretStore implements SyncableStore<Secret> {
+    private static final long LIST_LIMIT = 500L;
+    private static final long SYNC_POLL_INTERVAL = 10;
+
+    private final KubernetesClient client;
+    private final String namespace;
+    private final String clusterId;
+    private final Map<String, Secret> secrets;
+
+    private volatile Reflector<Secret, SecretList> reflector;
+    private volatile boolean synced;
+
+    ConnectorSecretStore(KubernetesClient client, String namespace, String clusterId) {
+        this.client = client;
+        this.namespace = namespace;
+        this.clusterId = clusterId;
+        this.secrets = new ConcurrentHashMap<>();
+    }
+
+    public void start() {
+        reflector = new Reflector<>(Secret.class, new SecretListerWatcher(), this);
+        reflector.listSyncAndWatch();
+    }
+
+    public void stop() {
+        if (reflector != null) {
+            reflector.stop();
+        }
+    }
+
+    public boolean hasSynced() {
+        return synced;
+    }
+
+    /**
+     * Wait for the store to have performed its initial list, so lookups reflect the state of the cluster.
+     *
+     * @param  timeout              how long to wait.
+     * @throws TimeoutException     if the store has not synced within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void waitForSync(Duration timeout) throws TimeoutException, InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeout.toMillis();
+
+        while (!synced) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Timeout waiting for the connector secrets to sync");
+            }
+
+            Thread.sleep(SYNC_POLL_INTERVAL);
+        }
+    }
+
+    /**
+     * Lookup a secret by name.
+     *
+     * @param  name the name of the secret.
+     * @return      a copy of the cached secret, holding only its metadata.
+     */
+    public Optional<Secret> get(String name) {
+        return Optional.ofNullable(secrets.get(namespace + "/" + name)).map(s -> new SecretBuilder(s).build());
+    }
+
+    public int size() {
+        return secrets.size();
+    }
+
+    @Override
+    public void add(Secret secret) {
+        secrets.put(getKey(secret), trim(secret));
+    }
+
+    @Override
+    public void update(Secret secret) {
+        secrets.put(getKey(secret), trim(secret));
+    }
+
+    @Override
+    public void delete(Secret secret) {
+        secrets.remove(getKey(secret));
+    }
+
+    @Override
+    public void resync() {
+        // nothing to notify
+    }
+
+    @Override
+    public String getKey(Secret secret) {
+        return Cache.metaNamespaceKeyFunc(secret);
+    }
+
+    @Override
+    public void retainAll(Set<String> keys) {
+        // invoked once a full list has been stored
+        secrets.keySet().retainAll(keys);
+        synced = true;
+    }
+
+    @Override
+    public List<Secret> list() {
+        return new ArrayList<>(secrets.values());
+    }
+
+    @Override
+    public List<String> listKeys() {
+        return new ArrayList<>(secrets.keySet());
+    }
+
+    @Override
+    public Secret get(Secret secret) {
+        return secrets.get(getKey(secret));
+    }
+
+    @Override
+    public Secret getByKey(String key) {
+        return secrets.get(key);
+    }
+
+    /**
+     * Copy the given secret without its data and managed fields, the received instance is never modified.
+     */
+    static Secret trim(Secret secret) {
+        final Secret answer = new SecretBuilder(secret).build();
+        answer.setData(null);
+        answer.setStringData(null);
+        answer.getMetadata().setManagedFields(null);
+
+        return answer;
+    }
+
+    private class SecretListerWatcher implements ListerWatcher<Secret, SecretList> {
+        @Override
+        public Watch watch(ListOptions params, Watcher<Secret> watcher) {
+            return client.secrets()
+                .inNamespace(namespace)
+                .withLabel(Resources.LABEL_CLUSTER_ID, clusterId)
+                .watch(params, watcher);
+        }
+
+        @Override
+        public SecretList list(ListOptions params) {
+            return client.secrets()
+                .inNamespace(namespace)
+                .withLabel(Resources.LABEL_CLUSTER_ID, clusterId)
+                .list(params);
+        }
+
+        @Override
+        public Long getLimit() {
+            return LIST_LIMIT;
+        }
+
+        @Override
+        public String getNamespace() {
+            return namespace;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+
+/**
+ * Keep track of the highest deployment resource version among the {@link ManagedConnector} known by the informer.
+ * </p>
+ * Revisions are kept in a sorted multiset so the max can be recomputed when the connector holding it is deleted, while
+ * reading the current max does not require walking the informer cache.
+ */
+class DeploymentRevisionIndex implements ResourceEventHandler<ManagedConnector> {
+    private final Map<String, Long> revisions = new HashMap<>();
+    private final TreeMap<Long, Integer> counts = new TreeMap<>();
+
+    private volatile long max;
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public void onAdd(ManagedConnector connector) {
+        update(connector);
+    }
+
+    @Override
+    public void onUpdate(ManagedConnector oldConnector, ManagedConnector newConnector) {
+        update(newConnector);
+    }
+
+    @Override
+    public void onDelete(ManagedConnector connector, boolean deletedFinalStateUnknown) {
+        synchronized (counts) {
+            Long old = revisions.remove(connector.getMetadata().getName());
+            if (old != null) {
+                decrement(old);
+            }
+
+            max = counts.isEmpty() ? 0 : counts.lastKey();
+        }
+    }
+
+    private void update(ManagedConnector connector) {
+        final Long rv = connector.getSpec().getDeployment().getDeploymentResourceVersion();
+        final long revision = rv != null ? rv : 0;
+
+        synchronized (counts) {
+            Long old = revisions.put(connector.getMetadata().getName(), revision);
+            if (old != null) {
+                decrement(old);
+            }
+
+            counts.merge(revision, 1, Integer::sum);
+
+            max = counts.lastKey();
+        }
+    }
+
+    private void decrement(long revision) {
+        counts.computeIfPresent(revision, (k, v) -> v > 1 ? v - 1 : null);
+    }
+}
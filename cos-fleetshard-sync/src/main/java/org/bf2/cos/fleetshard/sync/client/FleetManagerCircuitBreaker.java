@@ -0,0 +1,162 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * A circuit breaker that stops calls to the Control Plane after a number of consecutive failures.
+ * </p>
+ * Once open, calls are shed until the open duration elapses, then a single trial call is let through: if it succeeds
+ * the circuit is closed, otherwise it is opened again.
+ */
+public class FleetManagerCircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FleetManagerCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDuration;
+    private final AtomicLong shed;
+
+    private State state;
+    private int failures;
+    private long openedAt;
+    private long openTime;
+
+    public FleetManagerCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration.toMillis();
+        this.shed = new AtomicLong();
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Register metrics about the circuit breaker:
+     * <ul>
+     * <li>{@code id.state}: the state of the circuit, 0 closed, 1 open, 2 half open</li>
+     * <li>{@code id.open.time}: the total number of seconds the circuit has been open</li>
+     * <li>{@code id.shed}: the number of calls rejected while the circuit was open</li>
+     * </ul>
+     *
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     */
+    public void registerMetrics(MeterRegistry registry, String id) {
+        Gauge.builder(id + ".state", this, cb -> cb.getState().ordinal())
+            .register(registry);
+        FunctionCounter.builder(id + ".open.time", this, FleetManagerCircuitBreaker::getOpenTimeSeconds)
+            .baseUnit("seconds")
+            .register(registry);
+        FunctionCounter.builder(id + ".shed", shed, AtomicLong::get)
+            .register(registry);
+    }
+
+    /**
+     * Determine if a call can be performed, a call that is not allowed is counted as shed.
+     *
+     * @return true if the call can be performed.
+     */
+    public synchronized boolean allow() {
+        if (failureThreshold <= 0) {
+            return true;
+        }
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= openDuration) {
+                    LOGGER.info("Circuit half open, trying to reach the Control Plane");
+                    state = State.HALF_OPEN;
+                    return true;
+                }
+                break;
+            default:
+                // a trial call is already in flight
+                break;
+        }
+
+        shed.incrementAndGet();
+
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.info("Circuit closed, the Control Plane is reachable again");
+
+            openTime += System.currentTimeMillis() - openedAt;
+            state = State.CLOSED;
+        }
+
+        failures = 0;
+    }
+
+    public synchronized void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+
+        failures++;
+
+        if (state == State.HALF_OPEN || state == State.CLOSED && failures >= failureThreshold) {
+            LOGGER.warn("Circuit open after {} consecutive failures, pausing calls to the Control Plane for {}ms",
+                failures,
+                openDuration);
+
+            if (state == State.CLOSED) {
+                openedAt = System.currentTimeMillis();
+            } else {
+                // the trial call has failed, account for the time spent open so far
+                openTime += System.currentTimeMillis() - openedAt;
+                openedAt = System.currentTimeMillis();
+            }
+
+            state = State.OPEN;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the circuit is open and calls are being shed.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() - openedAt < openDuration;
+    }
+
+    /**
+     * @return how long the circuit is going to stay open, zero if it is not open.
+     */
+    public synchronized Duration getRemaining() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofMillis(Math.max(0, openDuration - (System.currentTimeMillis() - openedAt)));
+    }
+
+    public long getShed() {
+        return shed.get();
+    }
+
+    public synchronized long getOpenTimeSeconds() {
+        final long current = state == State.CLOSED ? 0 : System.currentTimeMillis() - openedAt;
+
+        return TimeUnit.MILLISECONDS.toSeconds(openTime + current);
+    }
+}
@@ -1,14 +1,29 @@
 package org.bf2.cos.fleetshard.sync.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 
 import org.bf2.cos.fleet.manager.api.ConnectorClustersAgentApi;
 import org.bf2.cos.fleet.manager.model.ConnectorClusterStatus;
@@ -17,53 +32,225 @@ import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
 import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
 import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.context.ManagedExecutor;
 import org.eclipse.microprofile.rest.client.RestClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.oidc.client.filter.OidcClientRequestFilter;
 
 @ApplicationScoped
 public class FleetManagerClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(FleetManagerClient.class);
 
+    public static final String OPERATION_DEPLOYMENTS = "deployments";
+    public static final String OPERATION_CONNECTOR_STATUS = "connector-status";
+    public static final String OPERATION_CLUSTER_STATUS = "cluster-status";
+
     final FleetShardSyncConfig config;
+    final ManagedExecutor executor;
+    final MeterRegistry registry;
     final ConnectorClustersAgentApi controlPlane;
+    final ConnectorDeploymentsStreamApi deploymentsStream;
+    final ConnectorDeploymentListReader deploymentsReader;
+    final FleetManagerCircuitBreaker circuitBreaker;
+    final FleetManagerTransport transport;
+    final FleetManagerPageSize pageSize;
+    final FleetManagerResponseSizeFilter pageBytes;
+    final DistributionSummary pagesPerSync;
+    final Map<String, FleetManagerRetryPolicy> policies;
+
+    @Inject
+    public FleetManagerClient(FleetShardSyncConfig config, ManagedExecutor executor, MeterRegistry registry) {
+        this(config, executor, registry, null, null);
+    }
+
+    /**
+     * Create a client using the given Control Plane APIs, a REST client is built for each API that is not provided.
+     */
+    FleetManagerClient(
+        FleetShardSyncConfig config,
+        ManagedExecutor executor,
+        MeterRegistry registry,
+        ConnectorClustersAgentApi controlPlane,
+        ConnectorDeploymentsStreamApi deploymentsStream) {
 
-    public FleetManagerClient(FleetShardSyncConfig config) {
         this.config = config;
+        this.executor = executor;
+        this.registry = registry;
+        this.policies = new ConcurrentHashMap<>();
+
+        this.circuitBreaker = new FleetManagerCircuitBreaker(
+            config.manager().circuitBreaker().failureThreshold(),
+            config.manager().circuitBreaker().openDuration());
+        this.circuitBreaker.registerMetrics(
+            registry,
+            config.metrics().baseName() + ".manager.circuit");
+
+        this.transport = new FleetManagerTransport(config.manager());
+        this.transport.registerMetrics(
+            registry,
+            config.metrics().baseName() + ".manager.http.pool");
+
+        this.pageSize = new FleetManagerPageSize(
+            config.connectors().poll().pageSize(),
+            config.connectors().poll().minPageSize(),
+            config.connectors().poll().maxPageSize(),
+            config.connectors().poll().targetLatency());
+        this.pageSize.registerMetrics(
+            registry,
+            config.metrics().baseName() + ".manager.deployments.page.size");
+
+        this.pageBytes = new FleetManagerResponseSizeFilter(
+            DistributionSummary.builder(config.metrics().baseName() + ".manager.deployments.page.bytes")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry));
 
-        this.controlPlane = RestClientBuilder.newBuilder()
-            .baseUri(config.manager().uri())
+        this.pagesPerSync = DistributionSummary.builder(config.metrics().baseName() + ".manager.deployments.pages")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+
+        this.controlPlane = controlPlane != null
+            ? controlPlane
+            : newRestClientBuilder().build(ConnectorClustersAgentApi.class);
+        this.deploymentsStream = deploymentsStream != null
+            ? deploymentsStream
+            : newRestClientBuilder().build(ConnectorDeploymentsStreamApi.class);
+        this.deploymentsReader = new ConnectorDeploymentListReader(Serialization.jsonMapper());
+    }
+
+    private RestClientBuilder newRestClientBuilder() {
+        return newRestClientBuilder(config.manager(), transport)
             .register(OidcClientRequestFilter.class)
-            .connectTimeout(config.manager().connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
-            .readTimeout(config.manager().readTimeout().toMillis(), TimeUnit.MILLISECONDS)
-            .build(ConnectorClustersAgentApi.class);
+            .register(pageBytes);
+    }
+
+    /**
+     * Create a REST client builder for the Control Plane that goes through the given transport.
+     *
+     * @param  config    the Control Plane configuration.
+     * @param  transport the transport.
+     * @return           the builder, without any authentication.
+     */
+    static RestClientBuilder newRestClientBuilder(FleetShardSyncConfig.Manager config, FleetManagerTransport transport) {
+        // timeouts are also set on the transport as they are ignored when a custom engine is provided
+        return RestClientBuilder.newBuilder()
+            .baseUri(config.uri())
+            .connectTimeout(config.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(config.readTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .property("resteasy.httpEngine", transport.getEngine());
+    }
+
+    public void stop() {
+        try {
+            transport.close();
+        } catch (IOException e) {
+            LOGGER.debug("Failure closing the Control Plane transport", e);
+        }
+    }
+
+    /**
+     * @return true if the Control Plane is deemed reachable, false if calls are currently being shed.
+     */
+    public boolean isAvailable() {
+        return !circuitBreaker.isOpen();
+    }
+
+    public FleetManagerCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
     }
 
     public void getDeployments(long gv, Consumer<Collection<ConnectorDeployment>> consumer) {
         FleetManagerClientHelper.run(() -> {
             LOGGER.debug("polling with gv: {}", gv);
 
-            final AtomicInteger counter = new AtomicInteger();
-            final List<ConnectorDeployment> items = new ArrayList<>();
+            final int prefetch = config.connectors().provisioner().prefetch();
+            if (config.connectors().provisioner().streaming()) {
+                readDeployments(gv, consumer);
+            } else if (prefetch > 0) {
+                streamDeployments(gv, prefetch, consumer);
+            } else {
+                fetchDeployments(gv, consumer::accept);
+            }
+        });
+    }
+
+    /**
+     * Fetch the pages of deployments on a separate thread so the next pages are retrieved while the current one is being
+     * consumed. At most {@code prefetch} pages are buffered ahead of the consumer.
+     */
+    private void streamDeployments(long gv, int prefetch, Consumer<Collection<ConnectorDeployment>> consumer)
+        throws Exception {
+
+        final BlockingQueue<Optional<List<ConnectorDeployment>>> pages = new ArrayBlockingQueue<>(prefetch);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Future<?> fetcher = executor.submit(() -> {
+            try {
+                fetchDeployments(gv, page -> offer(pages, Optional.of(page)));
+            } catch (Throwable t) {
+                // errors must be recorded too, otherwise the end of the stream would look like a complete run
+                failure.set(t);
+            } finally {
+                // signal the end of the stream, also in case of failures
+                offer(pages, Optional.empty());
+            }
+        });
+
+        try {
+            for (Optional<List<ConnectorDeployment>> page = pages.take(); page.isPresent(); page = pages.take()) {
+                consumer.accept(page.get());
+            }
+        } finally {
+            fetcher.cancel(true);
+        }
+
+        final Throwable cause = failure.get();
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause != null) {
+            throw (Exception) cause;
+        }
+    }
+
+    private void fetchDeployments(long gv, Consumer<List<ConnectorDeployment>> consumer) {
+        final AtomicInteger counter = new AtomicInteger();
+        final PagingRun run = new PagingRun(pageSize.get());
 
+        try {
             for (int i = 1; i < Integer.MAX_VALUE; i++) {
-                ConnectorDeploymentList list = controlPlane.getClusterAsignedConnectorDeployments(
-                    config.cluster().id(),
-                    Integer.toString(i),
-                    null,
-                    gv,
-                    "false");
+                final String page = Integer.toString(i);
+
+                // retry a single page instead of restarting the whole paging run
+                ConnectorDeploymentList list = execute(OPERATION_DEPLOYMENTS, () -> {
+                    final long start = System.nanoTime();
+                    final ConnectorDeploymentList answer = controlPlane.getClusterAsignedConnectorDeployments(
+                        config.cluster().id(),
+                        page,
+                        run.getSize(),
+                        gv,
+                        "false");
+
+                    run.page(
+                        System.nanoTime() - start,
+                        answer != null && answer.getItems() != null ? answer.getItems().size() : 0);
+
+                    return answer;
+                });
 
                 if (list == null || list.getItems() == null || list.getItems().isEmpty()) {
                     LOGGER.info("No connectors for cluster {}", config.cluster().id());
                     break;
                 }
 
-                items.clear();
-                items.addAll(list.getItems());
+                // each response gets its own list, so it can be sorted in place and buffered as it is
+                final List<ConnectorDeployment> items = list.getItems();
                 items.sort(Comparator.comparingLong(d -> d.getMetadata().getResourceVersion()));
 
                 consumer.accept(items);
@@ -72,7 +259,212 @@ public class FleetManagerClient {
                     break;
                 }
             }
+        } finally {
+            run.complete();
+        }
+    }
+
+    /**
+     * Fetch the pages of deployments and parse them incrementally, the deployments are handed over to the consumer in
+     * chunks of the size of the provisioner workers as soon as they are read, so a page is never fully materialized.
+     * </p>
+     * The chunks are handed over in the order of the resource versions across the whole page, as the consumer records
+     * the highest revision of each chunk as provisioned. The resource versions are read in a first pass over the raw
+     * page, so only the deployments read ahead of one with a lower resource version have to be retained.
+     * </p>
+     * The raw content of a page is transferred before any deployment is provisioned, so the connection to the Control
+     * Plane is not held open during the Kubernetes writes. Only the bytes of the page are retained, which are much smaller
+     * than the parsed JSON trees. The transfer is retried as a whole, so a failure while parsing is reported as is as some
+     * deployments may already have been provisioned.
+     */
+    private void readDeployments(long gv, Consumer<Collection<ConnectorDeployment>> consumer) throws IOException {
+        final int chunkSize = Math.max(1, config.connectors().provisioner().workers());
+        final AtomicInteger counter = new AtomicInteger();
+        final PagingRun run = new PagingRun(pageSize.get());
+
+        try {
+            for (int i = 1; i < Integer.MAX_VALUE; i++) {
+                final String page = Integer.toString(i);
+                final int before = counter.get();
+                final AtomicLong latency = new AtomicLong();
+
+                final byte[] content = execute(OPERATION_DEPLOYMENTS, () -> {
+                    final long start = System.nanoTime();
+
+                    try (InputStream answer = deploymentsStream.getClusterAsignedConnectorDeployments(
+                        config.cluster().id(),
+                        page,
+                        run.getSize(),
+                        gv,
+                        "false")) {
+
+                        return answer.readAllBytes();
+                    } finally {
+                        latency.set(System.nanoTime() - start);
+                    }
+                });
+
+                final ConnectorDeploymentList list;
+                final OrderedChunks chunks;
+
+                try (InputStream in = new ByteArrayInputStream(content)) {
+                    chunks = new OrderedChunks(deploymentsReader.readRevisions(in), chunkSize, consumer);
+                }
+                try (InputStream in = new ByteArrayInputStream(content)) {
+                    list = deploymentsReader.read(in, deployment -> {
+                        counter.incrementAndGet();
+                        chunks.add(deployment);
+                    });
+                }
+
+                chunks.flush();
+
+                run.page(latency.get(), counter.get() - before);
+
+                if (counter.get() == before) {
+                    LOGGER.info("No connectors for cluster {}", config.cluster().id());
+                    break;
+                }
+                if (list.getTotal() == null || counter.get() >= list.getTotal()) {
+                    break;
+                }
+            }
+        } finally {
+            run.complete();
+        }
+    }
+
+    /**
+     * Track the pages fetched by a paging run, so the number of round trips is recorded and the page size is adapted
+     * once the run is completed.
+     */
+    private final class PagingRun {
+        private final Integer size;
+        private int pages;
+        private long maxLatency;
+        private boolean full;
+
+        PagingRun(Integer size) {
+            this.size = size;
+        }
+
+        String getSize() {
+            return size != null ? Integer.toString(size) : null;
+        }
+
+        void page(long latency, int items) {
+            pages++;
+            maxLatency = Math.max(maxLatency, latency);
+            full |= size != null && items >= size;
+        }
+
+        void complete() {
+            if (pages == 0) {
+                return;
+            }
+
+            pagesPerSync.record(pages);
+            pageSize.update(Duration.ofNanos(maxLatency), full);
+        }
+    }
+
+    /**
+     * Hand over the deployments of a page in chunks, following the order of their resource versions. A deployment read
+     * ahead of one with a lower resource version is held until all the lower ones have been read, so nothing is
+     * retained beyond the current chunk when the page is already sorted.
+     */
+    private static final class OrderedChunks {
+        private final int[] ranks;
+        private final ConnectorDeployment[] pending;
+        private final List<ConnectorDeployment> chunk;
+        private final int chunkSize;
+        private final Consumer<Collection<ConnectorDeployment>> consumer;
+        private int read;
+        private int next;
+
+        OrderedChunks(long[] revisions, int chunkSize, Consumer<Collection<ConnectorDeployment>> consumer) {
+            final Integer[] indexes = new Integer[revisions.length];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+
+            // the sort is stable, so deployments with the same resource version keep the order of the page
+            Arrays.sort(indexes, Comparator.comparingLong(i -> revisions[i]));
+
+            this.ranks = new int[revisions.length];
+            for (int rank = 0; rank < indexes.length; rank++) {
+                this.ranks[indexes[rank]] = rank;
+            }
+
+            this.pending = new ConnectorDeployment[revisions.length];
+            this.chunk = new ArrayList<>(chunkSize);
+            this.chunkSize = chunkSize;
+            this.consumer = consumer;
+        }
+
+        void add(ConnectorDeployment deployment) {
+            if (read >= ranks.length) {
+                throw new IllegalStateException("The page holds more deployments than it has been indexed with");
+            }
+
+            pending[ranks[read++]] = deployment;
+
+            while (next < pending.length && pending[next] != null) {
+                chunk.add(pending[next]);
+                pending[next++] = null;
+
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            final List<ConnectorDeployment> items = new ArrayList<>(chunk);
+
+            chunk.clear();
+            consumer.accept(items);
+        }
+    }
+
+    /**
+     * Fetch the first page of the deployments assigned to the cluster with a resource version greater than the given one.
+     *
+     * @param  gv   the resource version to start after.
+     * @param  size the page size.
+     * @return      the page, with the deployments sorted by resource version.
+     */
+    public ConnectorDeploymentList getDeploymentsPage(long gv, int size) {
+        LOGGER.debug("fetching deployments page with gv: {}, size: {}", gv, size);
+
+        final ConnectorDeploymentList list = execute(OPERATION_DEPLOYMENTS, () -> {
+            return controlPlane.getClusterAsignedConnectorDeployments(
+                config.cluster().id(),
+                "1",
+                Integer.toString(size),
+                gv,
+                "false");
         });
+
+        if (list != null && list.getItems() != null) {
+            list.getItems().sort(Comparator.comparingLong(d -> d.getMetadata().getResourceVersion()));
+        }
+
+        return list;
+    }
+
+    private static <T> void offer(BlockingQueue<T> queue, T element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            // the consumer has gone away, restore the flag so any further put fails fast
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while buffering deployments", e);
+        }
     }
 
     public void updateConnectorStatus(ManagedConnector connector, ConnectorDeploymentStatus status) {
@@ -82,19 +474,93 @@ public class FleetManagerClient {
                 connector.getSpec().getDeploymentId(),
                 Serialization.asJson(status));
 
-            controlPlane.updateConnectorDeploymentStatus(
-                connector.getSpec().getClusterId(),
-                connector.getSpec().getDeploymentId(),
-                status);
+            execute(OPERATION_CONNECTOR_STATUS, () -> {
+                controlPlane.updateConnectorDeploymentStatus(
+                    connector.getSpec().getClusterId(),
+                    connector.getSpec().getDeploymentId(),
+                    status);
+
+                return null;
+            });
         });
     }
 
     public void updateClusterStatus() {
         FleetManagerClientHelper.run(() -> {
-            controlPlane.updateKafkaConnectorClusterStatus(
-                config.cluster().id(),
-                new ConnectorClusterStatus()
-                    .phase("ready"));
+            execute(OPERATION_CLUSTER_STATUS, () -> {
+                controlPlane.updateKafkaConnectorClusterStatus(
+                    config.cluster().id(),
+                    new ConnectorClusterStatus()
+                        .phase("ready"));
+
+                return null;
+            });
         });
     }
+
+    /**
+     * Invoke the Control Plane according to the retry policy of the given operation, transient failures are retried
+     * with an exponential backoff and feed the circuit breaker.
+     */
+    <T> T execute(String operation, Callable<T> callable) {
+        final FleetManagerRetryPolicy policy = policies.computeIfAbsent(operation, this::newRetryPolicy);
+
+        for (int attempt = 1;; attempt++) {
+            if (!circuitBreaker.allow()) {
+                throw new FleetManagerClientException(
+                    "Circuit open, skipping " + operation + " call to the Control Plane");
+            }
+
+            try {
+                final T answer = FleetManagerClientHelper.call(callable);
+                circuitBreaker.onSuccess();
+                return answer;
+            } catch (FleetManagerClientException e) {
+                if (!FleetManagerClientHelper.isRetryable(e)) {
+                    // the Control Plane has answered, so it is reachable
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+
+                circuitBreaker.onFailure();
+
+                if (attempt >= policy.getMaxAttempts()) {
+                    throw e;
+                }
+
+                final long backoff = policy.backoff(attempt);
+
+                LOGGER.info("Retrying {} call to the Control Plane in {}ms (attempt: {}/{}, error: {})",
+                    operation,
+                    backoff,
+                    attempt,
+                    policy.getMaxAttempts(),
+                    e.getMessage());
+
+                Counter.builder(config.metrics().baseName() + ".manager.retries")
+                    .tag("operation", operation)
+                    .register(registry)
+                    .increment();
+
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    // give up retrying and report the last failure
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(ie);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private FleetManagerRetryPolicy newRetryPolicy(String operation) {
+        final FleetShardSyncConfig.Manager.Retry retry = config.manager().retry();
+
+        return new FleetManagerRetryPolicy(
+            retry.operations().getOrDefault(operation, retry.maxAttempts()),
+            retry.initialBackoff(),
+            retry.maxBackoff(),
+            retry.jitter());
+    }
 }
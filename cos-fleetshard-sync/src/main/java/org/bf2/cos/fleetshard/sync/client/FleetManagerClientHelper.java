@@ -1,5 +1,6 @@
 package org.bf2.cos.fleetshard.sync.client;
 
+import java.io.IOException;
 import java.net.ConnectException;
 import java.util.concurrent.Callable;
 
@@ -17,6 +18,8 @@ public class FleetManagerClientHelper {
     public static <T extends Throwable> void run(ThrowingRunnable<T> runnable) {
         try {
             runnable.run();
+        } catch (FleetManagerClientException e) {
+            throw e;
         } catch (WebApplicationException e) {
             final Response response = e.getResponse();
             final String error = response.readEntity(String.class);
@@ -42,6 +45,8 @@ public class FleetManagerClientHelper {
     public static <T> T call(Callable<T> callable) {
         try {
             return callable.call();
+        } catch (FleetManagerClientException e) {
+            throw e;
         } catch (WebApplicationException e) {
             final Response response = e.getResponse();
             final String error = response.readEntity(String.class);
@@ -63,4 +68,29 @@ public class FleetManagerClientHelper {
             throw new FleetManagerClientException(e);
         }
     }
+
+    /**
+     * Determine if a failed call is worth retrying: server side errors, throttling and I/O failures are considered
+     * transient while any other client error is not.
+     *
+     * @param  e the failure.
+     * @return   true if the call can be retried.
+     */
+    public static boolean isRetryable(FleetManagerClientException e) {
+        final int status = e.getStatusCode();
+        if (status >= 500 || status == 429) {
+            return true;
+        }
+        if (status != 0) {
+            return false;
+        }
+
+        for (Throwable t = e.getCause(); t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 }
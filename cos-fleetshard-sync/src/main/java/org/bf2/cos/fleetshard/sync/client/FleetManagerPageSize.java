@@ -0,0 +1,102 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Determine the number of deployments requested for each page. When a target latency is set, the page size is adapted
+ * to the response times of the Control Plane: it grows while full pages are served within the target and is halved as
+ * soon as a page takes longer than that.
+ * </p>
+ * As pages are addressed by number, the size must not change while paging, so it is only updated once a paging run is
+ * completed.
+ */
+public class FleetManagerPageSize {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FleetManagerPageSize.class);
+
+    private final int min;
+    private final int max;
+    private final long target;
+    private final AtomicInteger current;
+
+    /**
+     * @param pageSize      the page size, zero to let the Control Plane decide unless the page size is adaptive.
+     * @param minPageSize   the min page size when adaptive.
+     * @param maxPageSize   the max page size when adaptive.
+     * @param targetLatency the target latency, zero disables the adaptive page size.
+     */
+    public FleetManagerPageSize(int pageSize, int minPageSize, int maxPageSize, Duration targetLatency) {
+        this.min = Math.max(1, minPageSize);
+        this.max = Math.max(this.min, maxPageSize);
+        this.target = targetLatency.toMillis();
+
+        if (this.target > 0) {
+            this.current = new AtomicInteger(pageSize > 0 ? Math.min(max, Math.max(min, pageSize)) : min);
+        } else {
+            this.current = new AtomicInteger(Math.max(0, pageSize));
+        }
+    }
+
+    /**
+     * Register metrics about the page size:
+     * <ul>
+     * <li>{@code id}: the current page size, 0 if it is up to the Control Plane</li>
+     * </ul>
+     *
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     */
+    public void registerMetrics(MeterRegistry registry, String id) {
+        Gauge.builder(id, current, AtomicInteger::get)
+            .register(registry);
+    }
+
+    public boolean isAdaptive() {
+        return target > 0;
+    }
+
+    /**
+     * @return the page size to request, null to let the Control Plane decide.
+     */
+    public Integer get() {
+        final int answer = current.get();
+        return answer > 0 ? answer : null;
+    }
+
+    /**
+     * Adapt the page size to the outcome of a paging run.
+     *
+     * @param latency the time taken by the slowest page.
+     * @param full    true if at least a page was full, so a larger page would have saved a round trip.
+     */
+    public void update(Duration latency, boolean full) {
+        if (!isAdaptive()) {
+            return;
+        }
+
+        final int size = current.get();
+        final int updated;
+
+        if (latency.toMillis() > target) {
+            updated = Math.max(min, size / 2);
+        } else if (full) {
+            updated = Math.min(max, size + Math.max(1, size / 4));
+        } else {
+            updated = size;
+        }
+
+        if (updated != size && current.compareAndSet(size, updated)) {
+            LOGGER.debug("Page size changed from {} to {} (latency: {}ms, target: {}ms)",
+                size,
+                updated,
+                latency.toMillis(),
+                target);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+
+/**
+ * Record the size of the pages of deployments returned by the Control Plane. The body is counted while it is consumed,
+ * so the size is also known for chunked and compressed responses, in which case the decompressed size is recorded.
+ */
+public class FleetManagerResponseSizeFilter implements ClientResponseFilter {
+    private final DistributionSummary summary;
+
+    public FleetManagerResponseSizeFilter(DistributionSummary summary) {
+        this.summary = summary;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        if (!requestContext.getUri().getPath().endsWith("/deployments") || !responseContext.hasEntity()) {
+            return;
+        }
+
+        responseContext.setEntityStream(new CountingInputStream(responseContext.getEntityStream(), summary));
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private final DistributionSummary summary;
+        private long count;
+        private boolean recorded;
+
+        CountingInputStream(InputStream in, DistributionSummary summary) {
+            super(in);
+            this.summary = summary;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int answer = super.read();
+            if (answer >= 0) {
+                count++;
+            } else {
+                record();
+            }
+
+            return answer;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int answer = super.read(b, off, len);
+            if (answer >= 0) {
+                count += answer;
+            } else {
+                record();
+            }
+
+            return answer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                record();
+            }
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                summary.record(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Determine how many times a call to the Control Plane is attempted and how long to wait between attempts, using an
+ * exponential backoff with jitter.
+ */
+public class FleetManagerRetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final double jitter;
+
+    public FleetManagerRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double jitter) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff.toMillis();
+        this.maxBackoff = Math.max(initialBackoff.toMillis(), maxBackoff.toMillis());
+        this.jitter = jitter;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Compute how long to wait before the next attempt.
+     *
+     * @param  attempt the number of the attempt that has failed, starting from 1.
+     * @return         the backoff in milliseconds.
+     */
+    @SuppressFBWarnings(value = "PREDICTABLE_RANDOM", justification = "jitter does not need a secure random")
+    public long backoff(int attempt) {
+        final long backoff = Math.min(maxBackoff, initialBackoff << Math.min(attempt - 1, 30));
+        if (jitter <= 0 || backoff <= 0) {
+            return backoff;
+        }
+
+        final double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+
+        return Math.max(0, (long) (backoff * factor));
+    }
+}
@@ -0,0 +1,135 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The HTTP transport used to reach the Control Plane: connections are pooled and kept alive across calls so concurrent
+ * provisioning and status pushes do not pay for a new connection and TLS handshake each time, and responses are
+ * transparently decompressed when compression is enabled.
+ */
+public class FleetManagerTransport implements Closeable {
+    private final PoolingHttpClientConnectionManager pool;
+    private final CloseableHttpClient client;
+    private final AtomicLong created;
+
+    public FleetManagerTransport(FleetShardSyncConfig.Manager config) {
+        final FleetShardSyncConfig.Manager.Transport transport = config.transport();
+        final int maxConnections = Math.max(1, transport.maxConnections());
+        final long keepAlive = transport.keepAlive().toMillis();
+
+        this.created = new AtomicLong();
+
+        final HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connections = (route, connectionConfig) -> {
+            created.incrementAndGet();
+            return ManagedHttpClientConnectionFactory.INSTANCE.create(route, connectionConfig);
+        };
+
+        this.pool = new PoolingHttpClientConnectionManager(
+            RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSystemSocketFactory())
+                .build(),
+            connections);
+
+        // all the calls go to the same host
+        this.pool.setMaxTotal(maxConnections);
+        this.pool.setDefaultMaxPerRoute(maxConnections);
+
+        final HttpClientBuilder builder = HttpClientBuilder.create()
+            .setConnectionManager(pool)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout((int) config.connectTimeout().toMillis())
+                .setSocketTimeout((int) config.readTimeout().toMillis())
+                .setConnectionRequestTimeout((int) transport.leaseTimeout().toMillis())
+                .build());
+
+        if (keepAlive > 0) {
+            builder.setKeepAliveStrategy(keepAliveStrategy(keepAlive));
+            builder.evictExpiredConnections();
+            builder.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS);
+        } else {
+            builder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+
+        if (!transport.compression()) {
+            builder.disableContentCompression();
+        }
+
+        this.client = builder.build();
+    }
+
+    /**
+     * Register metrics about the connection pool:
+     * <ul>
+     * <li>{@code id.leased}: the number of connections in use</li>
+     * <li>{@code id.pending}: the number of calls waiting for a connection</li>
+     * <li>{@code id.available}: the number of idle connections</li>
+     * <li>{@code id.created}: the number of connections opened so far</li>
+     * </ul>
+     *
+     * @param registry the {@link MeterRegistry}
+     * @param id       the metrics base name
+     */
+    public void registerMetrics(MeterRegistry registry, String id) {
+        Gauge.builder(id + ".leased", pool, p -> p.getTotalStats().getLeased())
+            .register(registry);
+        Gauge.builder(id + ".pending", pool, p -> p.getTotalStats().getPending())
+            .register(registry);
+        Gauge.builder(id + ".available", pool, p -> p.getTotalStats().getAvailable())
+            .register(registry);
+        FunctionCounter.builder(id + ".created", created, AtomicLong::get)
+            .register(registry);
+    }
+
+    /**
+     * @return a RESTEasy engine backed by the pooled client, to be set on the REST client builder.
+     */
+    public ClientHttpEngine getEngine() {
+        return new ApacheHttpClient43Engine(client, false);
+    }
+
+    public long getCreated() {
+        return created.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+    /**
+     * Honour the keep-alive timeout advertised by the server, if any, otherwise fall back to the configured one.
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAlive) {
+        return (response, context) -> {
+            final long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised > 0 ? Math.min(advertised, keepAlive) : keepAlive;
+        };
+    }
+}
@@ -1,9 +1,11 @@
 package org.bf2.cos.fleetshard.sync.client;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -13,42 +15,120 @@ import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.api.ManagedConnectorCluster;
 import org.bf2.cos.fleetshard.api.ManagedConnectorClusterBuilder;
 import org.bf2.cos.fleetshard.api.ManagedConnectorClusterSpecBuilder;
-import org.bf2.cos.fleetshard.api.ManagedConnectorOperator;
 import org.bf2.cos.fleetshard.api.Operator;
+import org.bf2.cos.fleetshard.api.OperatorSelector;
+import org.bf2.cos.fleetshard.support.OperatorRegistry;
 import org.bf2.cos.fleetshard.support.resources.Clusters;
 import org.bf2.cos.fleetshard.support.resources.Connectors;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.bf2.cos.fleetshard.support.resources.Secrets;
 import org.bf2.cos.fleetshard.support.watch.Informers;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.DeletionPropagation;
 import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.api.model.OwnerReferenceBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.base.PatchContext;
+import io.fabric8.kubernetes.client.dsl.base.PatchType;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @ApplicationScoped
 public class FleetShardClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FleetShardClient.class);
 
     @Inject
     KubernetesClient kubernetesClient;
     @Inject
     FleetShardSyncConfig config;
+    @Inject
+    MeterRegistry registry;
 
     private volatile SharedIndexInformer<ManagedConnector> informer;
+    private volatile DeploymentRevisionIndex revisions;
+    private volatile SharedIndexInformer<ManagedConnectorCluster> clusterInformer;
+    private volatile ConnectorSecretStore secrets;
+    private volatile OperatorRegistry operators;
+    private volatile OwnerReference checkpointOwner;
 
     public void start() {
+        operators = new OperatorRegistry(kubernetesClient, getConnectorsNamespace());
+        operators.registerMetrics(registry, config.metrics().baseName() + ".operators.registry");
+        operators.start();
+
+        revisions = new DeploymentRevisionIndex();
         informer = kubernetesClient.resources(ManagedConnector.class)
             .inNamespace(getConnectorsNamespace())
             .withLabel(Resources.LABEL_CLUSTER_ID, getClusterId())
-            .inform();
+            .inform(revisions);
+
+        secrets = new ConnectorSecretStore(kubernetesClient, getConnectorsNamespace(), getClusterId());
+        secrets.start();
+
+        clusterInformer = kubernetesClient.resources(ManagedConnectorCluster.class)
+            .inNamespace(getConnectorsNamespace())
+            .withLabel(Resources.LABEL_CLUSTER_ID, getClusterId())
+            .inform(new ResourceEventHandler<>() {
+                @Override
+                public void onAdd(ManagedConnectorCluster cluster) {
+                }
+
+                @Override
+                public void onUpdate(ManagedConnectorCluster oldCluster, ManagedConnectorCluster newCluster) {
+                }
+
+                @Override
+                public void onDelete(ManagedConnectorCluster cluster, boolean deletedFinalStateUnknown) {
+                    LOGGER.info("ManagedConnectorCluster {} has been deleted", cluster.getMetadata().getName());
+
+                    // the cluster is re-created lazily by the next provisioning or checkpoint write, so a failure
+                    // is retried by the following one instead of blocking the informer thread. The re-created
+                    // cluster has a different uid.
+                    checkpointOwner = null;
+                }
+            });
     }
 
     public void stop() {
         if (informer != null) {
             informer.stop();
         }
+        if (clusterInformer != null) {
+            clusterInformer.stop();
+        }
+        if (secrets != null) {
+            secrets.stop();
+        }
+        if (operators != null) {
+            operators.stop();
+        }
+    }
+
+    /**
+     * Wait for the informers to have performed their initial list, so lookups reflect the state of the cluster.
+     *
+     * @param  timeout              how long to wait for each informer.
+     * @throws TimeoutException     if an informer has not synced within the given timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void waitForSync(Duration timeout) throws TimeoutException, InterruptedException {
+        if (informer == null || clusterInformer == null || secrets == null || operators == null) {
+            throw new IllegalStateException("Informers must be started before waiting for them to sync");
+        }
+
+        Informers.waitForSync(informer, timeout);
+        Informers.waitForSync(clusterInformer, timeout);
+        secrets.waitForSync(timeout);
+        operators.waitForSync(timeout);
     }
 
     public String getConnectorsNamespace() {
@@ -64,10 +144,11 @@ public class FleetShardClient {
     }
 
     public long getMaxDeploymentResourceRevision() {
-        return this.informer.getIndexer().list().stream()
-            .mapToLong(c -> c.getSpec().getDeployment().getDeploymentResourceVersion())
-            .max()
-            .orElse(0);
+        if (revisions == null) {
+            throw new IllegalStateException("Informer must be started before looking up revisions");
+        }
+
+        return revisions.getMax();
     }
 
     // *************************************
@@ -76,22 +157,66 @@ public class FleetShardClient {
     //
     // *************************************
 
+    /**
+     * Lookup the secret associated to the given deployment from the local cache. The cache only holds the metadata of
+     * the secrets, the data is not cached.
+     *
+     * @param  deployment the deployment
+     * @return            a copy of the cached secret
+     */
     public Optional<Secret> getSecret(ConnectorDeployment deployment) {
-        return getSecretByDeploymentId(deployment.getId());
+        return lookupSecret(deployment.getId());
     }
 
+    /**
+     * Create or update a secret. A secret that already exists has been read from the cache without its data, so it is
+     * merged into the existing one, keeping any data entry that is not set by the given secret.
+     *
+     * @param  secret the secret
+     * @return        the secret, as stored by the API server
+     */
     public Secret createSecret(Secret secret) {
-        return this.kubernetesClient.secrets()
+        if (secret.getMetadata().getResourceVersion() == null) {
+            return kubernetesClient.secrets()
+                .inNamespace(getConnectorsNamespace())
+                .createOrReplace(secret);
+        }
+
+        final Secret patch = new SecretBuilder(secret)
+            .editMetadata()
+            .withResourceVersion(null)
+            .endMetadata()
+            .build();
+
+        return kubernetesClient.secrets()
             .inNamespace(getConnectorsNamespace())
-            .createOrReplace(secret);
+            .withName(secret.getMetadata().getName())
+            .patch(PatchContext.of(PatchType.JSON_MERGE), patch);
     }
 
+    /**
+     * Retrieve the secret associated to the given deployment, including its data. The API server is only hit if the
+     * secret is known by the local cache.
+     *
+     * @param  deploymentId the deployment id
+     * @return              the secret
+     */
     public Optional<Secret> getSecretByDeploymentId(String deploymentId) {
-        return Optional.ofNullable(
-            kubernetesClient.secrets()
+        return lookupSecret(deploymentId).map(secret -> {
+            return kubernetesClient.secrets()
                 .inNamespace(getConnectorsNamespace())
-                .withName(Secrets.generateConnectorSecretId(deploymentId))
-                .get());
+                .withName(secret.getMetadata().getName())
+                .get();
+        });
+    }
+
+    private Optional<Secret> lookupSecret(String deploymentId) {
+        if (secrets == null) {
+            throw new IllegalStateException("Secrets cache must be started before looking up secrets");
+        }
+
+        return secrets.get(Secrets.generateConnectorSecretId(deploymentId))
+            .filter(secret -> Resources.hasLabel(secret, Resources.LABEL_DEPLOYMENT_ID, deploymentId));
     }
 
     // *************************************
@@ -143,6 +268,27 @@ public class FleetShardClient {
         informer.addEventHandler(Informers.wrap(handler));
     }
 
+    public void watchConnectorDeletions(Consumer<ManagedConnector> handler) {
+        if (informer == null) {
+            throw new IllegalStateException("Informer must be started before adding handlers");
+        }
+
+        informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(ManagedConnector connector) {
+            }
+
+            @Override
+            public void onUpdate(ManagedConnector oldConnector, ManagedConnector newConnector) {
+            }
+
+            @Override
+            public void onDelete(ManagedConnector connector, boolean deletedFinalStateUnknown) {
+                handler.accept(connector);
+            }
+        });
+    }
+
     public ManagedConnector createConnector(ManagedConnector connector) {
         return kubernetesClient.resources(ManagedConnector.class)
             .inNamespace(getConnectorsNamespace())
@@ -163,16 +309,19 @@ public class FleetShardClient {
     // *************************************
 
     public List<Operator> lookupOperators() {
-        return kubernetesClient.resources(ManagedConnectorOperator.class)
-            .inNamespace(this.getConnectorsNamespace())
-            .list()
-            .getItems()
-            .stream()
-            .map(mco -> new Operator(
-                mco.getMetadata().getName(),
-                mco.getSpec().getType(),
-                mco.getSpec().getVersion()))
-            .collect(Collectors.toList());
+        if (operators == null) {
+            throw new IllegalStateException("Operator registry must be started before looking up operators");
+        }
+
+        return operators.list();
+    }
+
+    public Optional<Operator> assignOperator(OperatorSelector selector) {
+        if (operators == null) {
+            throw new IllegalStateException("Operator registry must be started before looking up operators");
+        }
+
+        return operators.assign(selector);
     }
 
     // *************************************
@@ -182,13 +331,28 @@ public class FleetShardClient {
     // *************************************
 
     public Optional<ManagedConnectorCluster> getConnectorCluster() {
+        final String name = Clusters.CONNECTOR_CLUSTER_PREFIX + "-" + getClusterId();
+
+        if (clusterInformer != null) {
+            ManagedConnectorCluster cluster = clusterInformer.getIndexer().getByKey(getConnectorsNamespace() + "/" + name);
+            if (cluster != null) {
+                return Optional.of(cluster);
+            }
+        }
+
         return Optional.ofNullable(
             kubernetesClient.resources(ManagedConnectorCluster.class)
                 .inNamespace(getConnectorsNamespace())
-                .withName(Clusters.CONNECTOR_CLUSTER_PREFIX + "-" + getClusterId())
+                .withName(name)
                 .get());
     }
 
+    /**
+     * Lookup the {@link ManagedConnectorCluster}, creating it if it does not exist, which is also how the cluster is
+     * re-created once deleted.
+     *
+     * @return the cluster.
+     */
     public ManagedConnectorCluster getOrCreateManagedConnectorCluster() {
         return getConnectorCluster().orElseGet(() -> {
             var cluster = new ManagedConnectorClusterBuilder()
@@ -207,4 +371,67 @@ public class FleetShardClient {
                 .createOrReplace(cluster);
         });
     }
+
+    // *************************************
+    //
+    // Checkpoint
+    //
+    // *************************************
+
+    public String getCheckpointName() {
+        return Clusters.CONNECTOR_CLUSTER_PREFIX + "-" + getClusterId() + "-checkpoint";
+    }
+
+    /**
+     * Retrieve the checkpoint of the synchronizer from the API server.
+     *
+     * @return the data of the checkpoint, empty if no checkpoint has been stored yet.
+     */
+    public Optional<Map<String, String>> getCheckpoint() {
+        return Optional.ofNullable(
+            kubernetesClient.configMaps()
+                .inNamespace(getConnectorsNamespace())
+                .withName(getCheckpointName())
+                .get())
+            .map(ConfigMap::getData);
+    }
+
+    /**
+     * Store the checkpoint of the synchronizer. The related config map is owned by the {@link ManagedConnectorCluster} so
+     * it is garbage collected together with the cluster. The cluster is only looked up by the first write, or after it
+     * has been re-created.
+     *
+     * @param data the data of the checkpoint.
+     */
+    public void updateCheckpoint(Map<String, String> data) {
+        OwnerReference owner = checkpointOwner;
+
+        if (owner == null) {
+            final ManagedConnectorCluster cluster = getOrCreateManagedConnectorCluster();
+
+            owner = new OwnerReferenceBuilder()
+                .withApiVersion(cluster.getApiVersion())
+                .withKind(cluster.getKind())
+                .withName(cluster.getMetadata().getName())
+                .withUid(cluster.getMetadata().getUid())
+                .withBlockOwnerDeletion(true)
+                .build();
+
+            checkpointOwner = owner;
+        }
+
+        final ConfigMap checkpoint = new ConfigMapBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(getCheckpointName())
+                .addToLabels(Resources.LABEL_CLUSTER_ID, getClusterId())
+                .addToOwnerReferences(owner)
+                .build())
+            .withData(data)
+            .build();
+
+        kubernetesClient.configMaps()
+            .inNamespace(getConnectorsNamespace())
+            .withName(checkpoint.getMetadata().getName())
+            .createOrReplace(checkpoint);
+    }
 }
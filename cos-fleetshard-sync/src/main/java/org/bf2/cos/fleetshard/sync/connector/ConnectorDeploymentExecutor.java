@@ -0,0 +1,194 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.context.SmallRyeManagedExecutor;
+
+/**
+ * Provision {@link ConnectorDeployment} using a bounded number of workers.
+ * </p>
+ * Deployments are grouped by id so the revisions of a deployment are applied in order, while different deployments are
+ * provisioned concurrently. A deployment that fails to be provisioned is parked in the
+ * {@link ConnectorDeploymentRetryQueue} so it does not prevent the other deployments from being provisioned.
+ */
+@ApplicationScoped
+public class ConnectorDeploymentExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentExecutor.class);
+
+    @Inject
+    ConnectorDeploymentProvisioner provisioner;
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    ConnectorDeploymentRetryQueue retries;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    private volatile ExecutorService pool;
+    private volatile ManagedExecutor workers;
+    private volatile MetricsRecorder recorder;
+
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.provisioner";
+        final int size = Math.max(1, config.connectors().provisioner().workers());
+
+        LOGGER.info("Starting deployment provisioner (workers: {})", size);
+
+        Gauge.builder(id + ".inflight", inFlight, AtomicInteger::get)
+            .register(registry);
+        FunctionCounter.builder(id + ".writes.applied", applied, AtomicLong::get)
+            .register(registry);
+        FunctionCounter.builder(id + ".writes.skipped", skipped, AtomicLong::get)
+            .register(registry);
+
+        recorder = MetricsRecorder.of(registry, id);
+        retries.start();
+
+        final AtomicInteger counter = new AtomicInteger();
+
+        pool = Executors.newFixedThreadPool(size, r -> {
+            Thread thread = new Thread(r, "connectors-provisioner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // the pool is dedicated to provisioning, so it bounds the number of deployments provisioned concurrently
+        // without competing with the application executor, while the context is propagated as for any other task
+        workers = SmallRyeManagedExecutor.builder()
+            .withExecutorService(pool)
+            .build();
+    }
+
+    public void stop() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getApplied() {
+        return applied.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Provision the given deployments and wait for all of them to be processed.
+     *
+     * @param deployments the deployments, sorted by resource version.
+     */
+    public void provision(Collection<ConnectorDeployment> deployments) {
+        if (workers == null) {
+            throw new IllegalStateException("Executor must be started before provisioning deployments");
+        }
+
+        final Map<String, List<ConnectorDeployment>> groups = new LinkedHashMap<>();
+        for (ConnectorDeployment deployment : deployments) {
+            if (retries.isParked(deployment)) {
+                LOGGER.debug("Skipping parked deployment {}", deployment.getId());
+                continue;
+            }
+
+            groups.computeIfAbsent(deployment.getId(), k -> new ArrayList<>()).add(deployment);
+        }
+
+        final List<Future<?>> futures = new ArrayList<>(groups.size());
+        for (List<ConnectorDeployment> group : groups.values()) {
+            futures.add(workers.submit(() -> {
+                for (ConnectorDeployment deployment : group) {
+                    provision(deployment);
+                }
+            }));
+        }
+
+        RuntimeException failure = null;
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while provisioning deployments", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new IllegalStateException(e.getCause());
+                } else {
+                    failure.addSuppressed(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Provision the parked deployments whose backoff has elapsed.
+     */
+    public void retry() {
+        final List<ConnectorDeployment> deployments = retries.due();
+        if (deployments.isEmpty()) {
+            return;
+        }
+
+        LOGGER.info("Retrying {} parked deployments", deployments.size());
+
+        provision(deployments);
+    }
+
+    private void provision(ConnectorDeployment deployment) {
+        inFlight.incrementAndGet();
+
+        try {
+            if (recorder.recordCallable(() -> provisioner.provision(deployment), ".provision")) {
+                applied.incrementAndGet();
+            } else {
+                skipped.incrementAndGet();
+            }
+
+            retries.remove(deployment);
+        } catch (RuntimeException e) {
+            if (!retries.park(deployment, e)) {
+                throw e;
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
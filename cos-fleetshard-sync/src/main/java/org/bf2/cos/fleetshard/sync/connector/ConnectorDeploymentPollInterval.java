@@ -0,0 +1,109 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Adapt the interval between polls for deployments to the activity of the Control Plane: the interval goes back to the
+ * configured poll interval as soon as a poll returns some changes, and grows exponentially up to the configured max
+ * while nothing changes.
+ * </p>
+ * A random jitter is applied any time the poll job is rescheduled, so clusters started at the same time do not end up
+ * polling the Control Plane in lockstep.
+ */
+@ApplicationScoped
+public class ConnectorDeploymentPollInterval {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentPollInterval.class);
+
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    FleetShardSyncScheduler scheduler;
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicLong interval = new AtomicLong();
+
+    public void start() {
+        interval.set(min());
+
+        Gauge.builder(config.metrics().baseName() + ".connectors.poll.interval", interval, AtomicLong::get)
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+
+    /**
+     * @return the interval to be used to schedule the next poll, including jitter.
+     */
+    public Duration next() {
+        return Duration.ofMillis(jitter(interval.get()));
+    }
+
+    public Duration getInterval() {
+        return Duration.ofMillis(interval.get());
+    }
+
+    /**
+     * Update the poll interval according to the outcome of the last poll and reschedule the poll job if the interval has
+     * changed.
+     *
+     * @param changed true if the last poll has returned some changes.
+     */
+    public void update(boolean changed) {
+        final long current = interval.get();
+        final long updated = compute(current, changed);
+
+        if (current == updated || !interval.compareAndSet(current, updated)) {
+            return;
+        }
+
+        LOGGER.debug("Poll interval changed from {}ms to {}ms", current, updated);
+
+        try {
+            scheduler.reschedule(ConnectorDeploymentSync.PollJob.ID, next());
+        } catch (Exception e) {
+            LOGGER.warn("Failure rescheduling job {}", ConnectorDeploymentSync.PollJob.ID, e);
+        }
+    }
+
+    long compute(long current, boolean changed) {
+        final long min = min();
+        final long max = Math.max(min, config.connectors().poll().maxInterval().toMillis());
+
+        if (changed) {
+            return min;
+        }
+
+        return Math.min(max, Math.max(min, (long) (current * config.connectors().poll().multiplier())));
+    }
+
+    @SuppressFBWarnings(value = "PREDICTABLE_RANDOM", justification = "jitter does not need a secure random")
+    long jitter(long value) {
+        final double jitter = config.connectors().poll().jitter();
+        if (jitter <= 0 || value <= 0) {
+            return value;
+        }
+
+        final double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+
+        return Math.max(1, (long) (value * factor));
+    }
+
+    private long min() {
+        return config.connectors().pollInterval().toMillis();
+    }
+}
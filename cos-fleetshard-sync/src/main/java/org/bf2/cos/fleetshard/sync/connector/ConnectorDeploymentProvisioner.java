@@ -1,8 +1,12 @@
 package org.bf2.cos.fleetshard.sync.connector;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -12,11 +16,11 @@ import org.bf2.cos.fleet.manager.model.KafkaConnectionSettings;
 import org.bf2.cos.fleet.manager.model.SchemaRegistryConnectionSettings;
 import org.bf2.cos.fleetshard.api.KafkaSpecBuilder;
 import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
 import org.bf2.cos.fleetshard.api.ManagedConnectorCluster;
 import org.bf2.cos.fleetshard.api.Operator;
 import org.bf2.cos.fleetshard.api.OperatorSelector;
 import org.bf2.cos.fleetshard.api.SchemaRegistrySpecBuilder;
-import org.bf2.cos.fleetshard.support.OperatorSelectorUtil;
 import org.bf2.cos.fleetshard.support.resources.Connectors;
 import org.bf2.cos.fleetshard.support.resources.Resources;
 import org.bf2.cos.fleetshard.support.resources.Secrets;
@@ -45,7 +49,14 @@ public class ConnectorDeploymentProvisioner {
         this.fleetShard = connectorClient;
     }
 
-    public void provision(ConnectorDeployment deployment) {
+    /**
+     * Provision the resources associated to the given deployment.
+     *
+     * @param  deployment the deployment
+     * @return            true if the resources have been written, false if they were already up to date or if the
+     *                    connector has already been provisioned with a newer revision.
+     */
+    public boolean provision(ConnectorDeployment deployment) {
         final String uow = uid();
 
         LOGGER.info("Got cluster_id: {}, connector_id: {}, deployment_id: {}, resource_version: {}, uow: {}",
@@ -55,10 +66,45 @@ public class ConnectorDeploymentProvisioner {
             deployment.getMetadata().getResourceVersion(),
             uow);
 
-        // TODO: cache cluster
+        final Long current = fleetShard.getConnector(deployment)
+            .map(c -> c.getSpec().getDeployment().getDeploymentResourceVersion())
+            .orElse(null);
+
+        // a deployment may be provisioned after a newer revision, i.e. by a re-sync slice fetched before a poll, so
+        // never roll the connector back
+        if (current != null && current > deployment.getMetadata().getResourceVersion()) {
+            LOGGER.info("Skip outdated deployment - deployment_id: {}, resource_version: {}, current: {}",
+                deployment.getId(),
+                deployment.getMetadata().getResourceVersion(),
+                current);
+
+            return false;
+        }
+
         final ManagedConnectorCluster cluster = fleetShard.getOrCreateManagedConnectorCluster();
-        final ManagedConnector connector = createManagedConnector(uow, deployment, cluster);
-        final Secret secret = createManagedConnectorSecret(uow, deployment, connector);
+        final ManagedConnector desiredConnector = newManagedConnector(deployment, cluster);
+        final Secret desiredSecret = newManagedConnectorSecret(deployment, desiredConnector);
+        final String checksum = computeChecksum(desiredConnector, desiredSecret);
+
+        final boolean forceResync = config != null && config.connectors().provisioner().forceResync();
+
+        if (!forceResync
+            && Resources.hasAnnotation(desiredConnector, Resources.ANNOTATION_DEPLOYMENT_CHECKSUM, checksum)
+            && Resources.hasAnnotation(desiredSecret, Resources.ANNOTATION_DEPLOYMENT_CHECKSUM, checksum)) {
+
+            LOGGER.info("Skip unchanged deployment - managed_connector: {}/{}, checksum: {}",
+                desiredConnector.getMetadata().getNamespace(),
+                desiredConnector.getMetadata().getName(),
+                checksum);
+
+            return false;
+        }
+
+        Resources.setAnnotation(desiredConnector, Resources.ANNOTATION_DEPLOYMENT_CHECKSUM, checksum);
+        Resources.setAnnotation(desiredSecret, Resources.ANNOTATION_DEPLOYMENT_CHECKSUM, checksum);
+
+        final ManagedConnector connector = createManagedConnector(uow, desiredConnector);
+        final Secret secret = createManagedConnectorSecret(uow, desiredSecret, connector);
 
         LOGGER.info("CreateOrReplace - uow: {}, managed_connector: {}/{}, managed_connector_secret: {}/{}",
             uow,
@@ -66,23 +112,51 @@ public class ConnectorDeploymentProvisioner {
             connector.getMetadata().getName(),
             secret.getMetadata().getNamespace(),
             secret.getMetadata().getName());
+
+        return true;
     }
 
-    private ManagedConnector createManagedConnector(String uow, ConnectorDeployment deployment, HasMetadata owner) {
-        ManagedConnector connector = fleetShard.getConnector(deployment).orElseGet(() -> {
-            LOGGER.info(
-                "Connector not found (cluster_id: {}, connector_id: {}, deployment_id: {}, resource_version: {}), creating a new one",
-                fleetShard.getClusterId(),
-                deployment.getSpec().getConnectorId(),
-                deployment.getId(),
-                deployment.getMetadata().getResourceVersion());
+    /**
+     * Compute a checksum of the desired state of the resources, leaving out anything that changes on every provisioning
+     * attempt such as the unit of work.
+     */
+    private String computeChecksum(ManagedConnector connector, Secret secret) {
+        final Map<String, Object> state = new TreeMap<>();
+        state.put("spec", connector.getSpec());
+        state.put("owners", connector.getMetadata().getOwnerReferences());
+        state.put("data", secret.getData() != null ? new TreeMap<>(secret.getData()) : Map.of());
 
-            return Connectors.newConnector(
-                fleetShard.getClusterId(),
-                deployment.getSpec().getConnectorId(),
-                deployment.getId(),
-                Collections.emptyMap());
-        });
+        if (config != null) {
+            state.put("labels", new TreeMap<>(config.connectors().labels()));
+            state.put("annotations", new TreeMap<>(config.connectors().annotations()));
+        }
+
+        Checksum crc32 = new CRC32();
+
+        byte[] bytes = Serialization.asJson(state).getBytes(StandardCharsets.UTF_8);
+        crc32.update(bytes, 0, bytes.length);
+
+        return Long.toHexString(crc32.getValue());
+    }
+
+    private ManagedConnector newManagedConnector(ConnectorDeployment deployment, HasMetadata owner) {
+        // work on a copy as the connector may come from the informer cache
+        ManagedConnector connector = fleetShard.getConnector(deployment)
+            .map(c -> new ManagedConnectorBuilder(c).build())
+            .orElseGet(() -> {
+                LOGGER.info(
+                    "Connector not found (cluster_id: {}, connector_id: {}, deployment_id: {}, resource_version: {}), creating a new one",
+                    fleetShard.getClusterId(),
+                    deployment.getSpec().getConnectorId(),
+                    deployment.getId(),
+                    deployment.getMetadata().getResourceVersion());
+
+                return Connectors.newConnector(
+                    fleetShard.getClusterId(),
+                    deployment.getSpec().getConnectorId(),
+                    deployment.getId(),
+                    Collections.emptyMap());
+            });
 
         // TODO: change APIs to include a single operator
         // move operator one level up
@@ -104,7 +178,7 @@ public class ConnectorDeploymentProvisioner {
             if (currentSelector != null && currentSelector.getId() != null) {
                 operatorSelector.setId(currentSelector.getId());
             } else {
-                OperatorSelectorUtil.assign(operatorSelector, fleetShard.lookupOperators())
+                fleetShard.assignOperator(operatorSelector)
                     .map(Operator::getId)
                     .ifPresent(operatorSelector::setId);
             }
@@ -146,12 +220,6 @@ public class ConnectorDeploymentProvisioner {
             Resources.LABEL_DEPLOYMENT_RESOURCE_VERSION,
             "" + deployment.getMetadata().getResourceVersion());
 
-        // add uow
-        Resources.setLabel(
-            connector,
-            Resources.LABEL_UOW,
-            uow);
-
         connector.getSpec().getDeployment().setDeploymentResourceVersion(deployment.getMetadata().getResourceVersion());
         connector.getSpec().getDeployment().setDesiredState(deployment.getSpec().getDesiredState());
         connector.getSpec().getDeployment().setConnectorTypeId(deployment.getSpec().getConnectorTypeId());
@@ -173,9 +241,21 @@ public class ConnectorDeploymentProvisioner {
 
         connector.getSpec().getDeployment().setConnectorResourceVersion(deployment.getSpec().getConnectorResourceVersion());
         connector.getSpec().getDeployment().setSecret(Secrets.generateConnectorSecretId(deployment.getId()));
-        connector.getSpec().getDeployment().setUnitOfWork(uow);
+        connector.getSpec().getDeployment().setUnitOfWork(null);
         connector.getSpec().setOperatorSelector(operatorSelector);
 
+        return connector;
+    }
+
+    private ManagedConnector createManagedConnector(String uow, ManagedConnector connector) {
+        // add uow
+        Resources.setLabel(
+            connector,
+            Resources.LABEL_UOW,
+            uow);
+
+        connector.getSpec().getDeployment().setUnitOfWork(uow);
+
         LOGGER.info("Provisioning connector id={} rv={} - {}/{}: {}",
             connector.getMetadata().getName(),
             connector.getSpec().getDeployment().getDeploymentResourceVersion(),
@@ -191,7 +271,7 @@ public class ConnectorDeploymentProvisioner {
         }
     }
 
-    private Secret createManagedConnectorSecret(String uow, ConnectorDeployment deployment, ManagedConnector owner) {
+    private Secret newManagedConnectorSecret(ConnectorDeployment deployment, ManagedConnector connector) {
         Secret secret = fleetShard.getSecret(deployment)
             .orElseGet(() -> {
                 LOGGER.info(
@@ -210,37 +290,41 @@ public class ConnectorDeploymentProvisioner {
                     Map.of());
             });
 
-        secret.getMetadata().setOwnerReferences(List.of(
-            new OwnerReferenceBuilder()
-                .withApiVersion(owner.getApiVersion())
-                .withKind(owner.getKind())
-                .withName(owner.getMetadata().getName())
-                .withUid(owner.getMetadata().getUid())
-                .withBlockOwnerDeletion(true)
-                .build()));
-
         // add resource version to label
         Resources.setLabel(
             secret,
             Resources.LABEL_DEPLOYMENT_RESOURCE_VERSION,
             "" + deployment.getMetadata().getResourceVersion());
 
-        // add uow
-        Resources.setLabel(
-            secret,
-            Resources.LABEL_UOW,
-            uow);
-
         // copy operator type
         Resources.setLabel(
             secret,
             Resources.LABEL_OPERATOR_TYPE,
-            owner.getMetadata().getLabels().get(Resources.LABEL_OPERATOR_TYPE));
+            connector.getMetadata().getLabels().get(Resources.LABEL_OPERATOR_TYPE));
 
         Secrets.set(secret, Secrets.SECRET_ENTRY_CONNECTOR, deployment.getSpec().getConnectorSpec());
         Secrets.set(secret, Secrets.SECRET_ENTRY_SERVICE_ACCOUNT, deployment.getSpec().getServiceAccount());
         Secrets.set(secret, Secrets.SECRET_ENTRY_META, deployment.getSpec().getShardMetadata());
 
+        return secret;
+    }
+
+    private Secret createManagedConnectorSecret(String uow, Secret secret, ManagedConnector owner) {
+        secret.getMetadata().setOwnerReferences(List.of(
+            new OwnerReferenceBuilder()
+                .withApiVersion(owner.getApiVersion())
+                .withKind(owner.getKind())
+                .withName(owner.getMetadata().getName())
+                .withUid(owner.getMetadata().getUid())
+                .withBlockOwnerDeletion(true)
+                .build()));
+
+        // add uow
+        Resources.setLabel(
+            secret,
+            Resources.LABEL_UOW,
+            uow);
+
         try {
             return fleetShard.createSecret(secret);
         } catch (Exception e) {
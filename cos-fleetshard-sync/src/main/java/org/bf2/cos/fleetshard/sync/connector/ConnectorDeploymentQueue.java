@@ -2,6 +2,7 @@ package org.bf2.cos.fleetshard.sync.connector;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -15,16 +16,30 @@ import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
 public class ConnectorDeploymentQueue extends EventQueue<Long, ConnectorDeployment> {
     @Inject
     FleetManagerClient fleetManager;
+    @Inject
+    ConnectorDeploymentPollInterval pollInterval;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
 
     public ConnectorDeploymentQueue() {
     }
 
     @Override
     protected void process(Collection<Long> elements, Consumer<Collection<ConnectorDeployment>> consumer) {
-        final long revision = elements.isEmpty()
-            ? 0
-            : Collections.max(elements);
+        if (elements.isEmpty()) {
+            fleetManager.getDeployments(0, consumer);
+            checkpoint.resynced();
+            return;
+        }
+
+        final AtomicInteger changes = new AtomicInteger();
+
+        fleetManager.getDeployments(Collections.max(elements), deployments -> {
+            changes.addAndGet(deployments.size());
+            consumer.accept(deployments);
+        });
 
-        fleetManager.getDeployments(revision, consumer);
+        // only polls drive the poll interval as a full resync always returns all the deployments
+        pollInterval.update(changes.get() > 0);
     }
 }
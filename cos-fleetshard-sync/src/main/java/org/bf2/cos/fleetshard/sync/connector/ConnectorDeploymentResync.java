@@ -0,0 +1,252 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+import org.bf2.cos.fleetshard.support.TokenBucket;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spread the full re-sync of the deployments over the re-sync interval: deployments are fetched from the Control Plane
+ * one page at a time, and the pages are scheduled evenly across the interval.
+ * </p>
+ * Pages are requested by resource version rather than by page number, each page starting after the highest resource
+ * version of the previous one, so deployments updated while the re-sync is in progress do not shift the pages and are
+ * never skipped. Deployments fetched by a slice may still be superseded by a poll before being provisioned, the
+ * {@link ConnectorDeploymentProvisioner} never applies a revision older than the one of the existing connector.
+ * </p>
+ * A slice is only processed while no incremental poll is pending, so polls always take precedence over the re-sync,
+ * and the writes performed by a slice are capped by a token bucket. All the methods but {@link #request()} are meant to
+ * be invoked by the deployment sync loop, so deployments are never provisioned concurrently by a poll and a re-sync.
+ */
+@ApplicationScoped
+public class ConnectorDeploymentResync {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentResync.class);
+
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    FleetManagerClient fleetManager;
+    @Inject
+    ConnectorDeploymentQueue queue;
+    @Inject
+    ConnectorDeploymentExecutor provisioner;
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
+
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final AtomicLong slices = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final Deque<ConnectorDeployment> pending = new ArrayDeque<>();
+
+    private volatile TokenBucket bucket;
+
+    private int page;
+    private int pages;
+    private long cursor;
+    private boolean fetched;
+    private long startedAt;
+    private long resumeAt;
+
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.resync";
+        final double rate = config.connectors().resync().writesPerSecond();
+
+        FunctionCounter.builder(id + ".slices", slices, AtomicLong::get)
+            .register(registry);
+        Gauge.builder(id + ".pending", remaining, AtomicInteger::get)
+            .register(registry);
+        FunctionCounter.builder(id + ".throttle.time", throttled, AtomicLong::get)
+            .baseUnit("milliseconds")
+            .register(registry);
+
+        bucket = new TokenBucket(rate, (int) Math.ceil(rate));
+    }
+
+    public boolean isEnabled() {
+        return config.connectors().resync().sliced();
+    }
+
+    /**
+     * Request a new re-sync, a re-sync that is still in progress is restarted.
+     */
+    public void request() {
+        requested.set(true);
+    }
+
+    /**
+     * @return the number of milliseconds till the next slice is due, {@link Long#MAX_VALUE} if no re-sync is in progress.
+     */
+    public long getNextSliceDelay() {
+        if (requested.get()) {
+            return 0;
+        }
+        if (page == 0 && pending.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+
+        final long now = System.currentTimeMillis();
+        final long next = pending.isEmpty() ? Math.max(resumeAt, due(page)) : resumeAt;
+
+        return Math.max(0, next - now);
+    }
+
+    /**
+     * Process the next slice if it is due, yielding as soon as an incremental poll is pending or the write budget is
+     * exhausted. A slice interrupted this way is resumed by the next invocation.
+     */
+    public void step() {
+        if (requested.compareAndSet(true, false)) {
+            if (page != 0 || !pending.isEmpty()) {
+                LOGGER.info("Restarting deployments re-sync, previous re-sync stopped at page {}", page);
+            }
+
+            pending.clear();
+            page = 1;
+            pages = 0;
+            cursor = 0;
+            fetched = false;
+            startedAt = System.currentTimeMillis();
+            resumeAt = startedAt;
+        }
+
+        if (getNextSliceDelay() > 0) {
+            return;
+        }
+
+        if (pending.isEmpty() && !fetch()) {
+            return;
+        }
+
+        final int chunkSize = Math.max(1, config.connectors().provisioner().workers());
+
+        while (!pending.isEmpty()) {
+            if (queue.size() > 0 || queue.isPoisoned()) {
+                LOGGER.debug("Yielding deployments re-sync to pending polls");
+                return;
+            }
+
+            final int permits = Math.min(chunkSize, pending.size());
+            final long wait = bucket.tryAcquire(permits);
+
+            if (wait > 0) {
+                final long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(wait));
+
+                throttled.addAndGet(millis);
+                resumeAt = System.currentTimeMillis() + millis;
+                return;
+            }
+
+            final List<ConnectorDeployment> chunk = new ArrayList<>(permits);
+            for (int i = 0; i < permits; i++) {
+                chunk.add(pending.poll());
+            }
+
+            remaining.set(pending.size());
+
+            final long skipped = provisioner.getSkipped();
+
+            try {
+                provisioner.provision(chunk);
+            } finally {
+                // only writes count against the budget
+                bucket.release((int) (provisioner.getSkipped() - skipped));
+            }
+        }
+
+        slices.incrementAndGet();
+
+        if (fetched) {
+            complete();
+        }
+    }
+
+    /**
+     * Fetch the next page of deployments.
+     *
+     * @return true if some deployments have to be provisioned.
+     */
+    private boolean fetch() {
+        final int size = Math.max(1, config.connectors().resync().sliceSize());
+        final ConnectorDeploymentList list;
+
+        try {
+            list = fleetManager.getDeploymentsPage(cursor, size);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failure fetching deployments page {} (gv: {}), retrying in {}",
+                page,
+                cursor,
+                config.connectors().pollInterval(),
+                e);
+
+            resumeAt = System.currentTimeMillis() + config.connectors().pollInterval().toMillis();
+            return false;
+        }
+
+        if (list == null || list.getItems() == null || list.getItems().isEmpty()) {
+            complete();
+            return false;
+        }
+
+        // the total only accounts for the deployments past the cursor
+        pages = Math.max(page, page - 1 + (list.getTotal() + size - 1) / size);
+
+        LOGGER.debug("Re-syncing deployments page {}/{} (gv: {})", page, pages, cursor);
+
+        pending.addAll(list.getItems());
+        remaining.set(pending.size());
+
+        cursor = pending.getLast().getMetadata().getResourceVersion();
+
+        if (page >= pages || list.getItems().size() < size) {
+            // the re-sync only completes once the last page has been provisioned
+            fetched = true;
+        } else {
+            page++;
+        }
+
+        return true;
+    }
+
+    private void complete() {
+        LOGGER.debug("Deployments re-sync completed in {}ms", System.currentTimeMillis() - startedAt);
+
+        page = 0;
+        pages = 0;
+        fetched = false;
+
+        checkpoint.resynced();
+    }
+
+    /**
+     * @return the time the given page is due, so pages are evenly distributed over the re-sync interval.
+     */
+    private long due(int page) {
+        if (pages == 0) {
+            return startedAt;
+        }
+
+        return startedAt + config.connectors().resyncInterval().toMillis() * (page - 1) / pages;
+    }
+}
@@ -0,0 +1,241 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Park the {@link ConnectorDeployment} that have failed to be provisioned so they can be retried later with an
+ * exponential backoff, without stalling the provisioning of the other deployments.
+ * </p>
+ * Only the latest failed revision of a deployment is kept. Once the max number of attempts is reached, the deployment is
+ * no longer retried by this queue: as polls only return newer revisions, it is only attempted again when a newer
+ * revision is polled or when a full resync returns it.
+ */
+@ApplicationScoped
+public class ConnectorDeploymentRetryQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentRetryQueue.class);
+
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.provisioner.retries";
+
+        Gauge.builder(id + ".parked", entries, Map::size)
+            .register(registry);
+        Gauge.builder(id + ".exhausted", this, q -> q.entries.values().stream().filter(Entry::isExhausted).count())
+            .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return config.connectors().provisioner().retry().maxAttempts() > 0;
+    }
+
+    /**
+     * Park a deployment that has failed to be provisioned.
+     *
+     * @param  deployment the deployment.
+     * @param  error      the failure.
+     * @return            true if the deployment has been parked, false if retries are disabled.
+     */
+    public boolean park(ConnectorDeployment deployment, Exception error) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        final FleetShardSyncConfig.Connectors.Provisioner.Retry retry = config.connectors().provisioner().retry();
+
+        final Entry entry = entries.compute(deployment.getId(), (k, v) -> {
+            if (v != null && revision(v.deployment) > revision(deployment)) {
+                // a newer revision is already parked
+                return v;
+            }
+
+            // a new revision resets the number of attempts
+            final int attempts = v != null && revision(v.deployment) == revision(deployment) ? v.attempts + 1 : 1;
+            final long backoff = Math.min(
+                retry.maxBackoff().toMillis(),
+                retry.initialBackoff().toMillis() << Math.min(attempts - 1, 30));
+
+            return new Entry(
+                deployment,
+                attempts,
+                attempts >= retry.maxAttempts(),
+                System.currentTimeMillis() + backoff,
+                rootCause(error).getMessage());
+        });
+
+        if (entry.exhausted) {
+            LOGGER.warn("Failure provisioning deployment {} (revision: {}, attempts: {}), giving up retrying",
+                entry.getDeploymentId(),
+                entry.getRevision(),
+                entry.attempts,
+                error);
+        } else {
+            LOGGER.warn("Failure provisioning deployment {} (revision: {}, attempts: {}), retrying at {}",
+                entry.getDeploymentId(),
+                entry.getRevision(),
+                entry.attempts,
+                entry.getNextAttempt(),
+                error);
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove a deployment that has been successfully provisioned, unless a newer revision has been parked meanwhile.
+     *
+     * @param deployment the deployment.
+     */
+    public void remove(ConnectorDeployment deployment) {
+        entries.computeIfPresent(deployment.getId(), (k, v) -> {
+            return revision(v.deployment) <= revision(deployment) ? null : v;
+        });
+    }
+
+    /**
+     * Determine if a deployment is waiting for its backoff to elapse, in which case provisioning it again would likely
+     * fail the same way.
+     *
+     * @param  deployment the deployment.
+     * @return            true if the same or a newer revision is parked and not due yet.
+     */
+    public boolean isParked(ConnectorDeployment deployment) {
+        final Entry entry = entries.get(deployment.getId());
+
+        return entry != null
+            && !entry.exhausted
+            && entry.nextAttempt > System.currentTimeMillis()
+            && revision(entry.deployment) >= revision(deployment);
+    }
+
+    /**
+     * @return the deployments whose backoff has elapsed, sorted by revision.
+     */
+    public List<ConnectorDeployment> due() {
+        final long now = System.currentTimeMillis();
+
+        return entries.values().stream()
+            .filter(e -> !e.exhausted && e.nextAttempt <= now)
+            .map(e -> e.deployment)
+            .sorted(Comparator.comparingLong(ConnectorDeploymentRetryQueue::revision))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the number of milliseconds till the next deployment is due, {@link Long#MAX_VALUE} if none is parked.
+     */
+    public long getNextAttemptDelay() {
+        final long now = System.currentTimeMillis();
+
+        return entries.values().stream()
+            .filter(e -> !e.exhausted)
+            .mapToLong(e -> Math.max(0, e.nextAttempt - now))
+            .min()
+            .orElse(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the lowest revision that has failed to be provisioned, including exhausted ones, {@link Long#MAX_VALUE} if
+     *         none is parked.
+     */
+    public long getMinRevision() {
+        return entries.values().stream()
+            .mapToLong(Entry::getRevision)
+            .min()
+            .orElse(Long.MAX_VALUE);
+    }
+
+    public List<Entry> list() {
+        return entries.values().stream()
+            .sorted(Comparator.comparing(Entry::getDeploymentId))
+            .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable answer = error;
+        while (answer.getCause() != null && answer.getCause() != answer) {
+            answer = answer.getCause();
+        }
+
+        return answer;
+    }
+
+    private static long revision(ConnectorDeployment deployment) {
+        final Long revision = deployment.getMetadata().getResourceVersion();
+        return revision != null ? revision : 0;
+    }
+
+    @JsonPropertyOrder({ "deploymentId", "revision", "attempts", "exhausted", "nextAttempt", "error" })
+    public static final class Entry {
+        private final ConnectorDeployment deployment;
+        private final int attempts;
+        private final boolean exhausted;
+        private final long nextAttempt;
+        private final String error;
+
+        Entry(ConnectorDeployment deployment, int attempts, boolean exhausted, long nextAttempt, String error) {
+            this.deployment = deployment;
+            this.attempts = attempts;
+            this.exhausted = exhausted;
+            this.nextAttempt = nextAttempt;
+            this.error = error;
+        }
+
+        @JsonIgnore
+        public ConnectorDeployment getDeployment() {
+            return deployment;
+        }
+
+        public String getDeploymentId() {
+            return deployment.getId();
+        }
+
+        public long getRevision() {
+            return revision(deployment);
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public boolean isExhausted() {
+            return exhausted;
+        }
+
+        public String getNextAttempt() {
+            return exhausted ? null : Instant.ofEpochMilli(nextAttempt).toString();
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
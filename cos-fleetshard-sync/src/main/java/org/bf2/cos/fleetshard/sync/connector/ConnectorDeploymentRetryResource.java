@@ -0,0 +1,37 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+/**
+ * Expose the deployments parked in the {@link ConnectorDeploymentRetryQueue} for troubleshooting. As the errors
+ * may leak details about the deployments, the endpoint is disabled unless
+ * {@code cos.connectors.provisioner.retry.debug} is set.
+ */
+@ApplicationScoped
+@Path("/debug/connectors/deployments/retries")
+public class ConnectorDeploymentRetryResource {
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    ConnectorDeploymentRetryQueue retries;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public String list() {
+        if (!config.connectors().provisioner().retry().debug()) {
+            throw new NotFoundException();
+        }
+
+        return Serialization.asJson(retries.list());
+    }
+}
@@ -6,11 +6,11 @@ import java.util.concurrent.TimeUnit;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
 import org.bf2.cos.fleetshard.support.metrics.MetricsID;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
 import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.quartz.DisallowConcurrentExecution;
@@ -19,6 +19,8 @@ import org.quartz.JobExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ApplicationScoped
 public class ConnectorDeploymentSync {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentSync.class);
@@ -26,25 +28,44 @@ public class ConnectorDeploymentSync {
     @Inject
     ConnectorDeploymentQueue queue;
     @Inject
-    ConnectorDeploymentProvisioner provisioner;
+    ConnectorDeploymentExecutor provisioner;
     @Inject
     ManagedExecutor executor;
     @Inject
     FleetShardSyncConfig config;
     @Inject
     FleetShardSyncScheduler scheduler;
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    ConnectorDeploymentPollInterval pollInterval;
+    @Inject
+    FleetManagerClient fleetManager;
+    @Inject
+    ConnectorDeploymentRetryQueue retries;
+    @Inject
+    ConnectorDeploymentResync resync;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
 
     private volatile Future<?> future;
 
     public void start() throws Exception {
+        provisioner.start();
+        pollInterval.start();
+        resync.start();
+
+        queue.registerMetrics(registry, config.metrics().baseName() + ".connectors.queue");
+
         scheduler.schedule(
             PollJob.ID,
             PollJob.class,
-            config.connectors().pollInterval());
+            pollInterval.next());
         scheduler.schedule(
             ReSynkJob.ID,
             ReSynkJob.class,
-            config.connectors().resyncInterval());
+            config.connectors().resyncInterval(),
+            checkpoint.getResyncDelay(config.connectors().resyncInterval()));
 
         if (!config.connectors().provisioner().queueTimeout().isZero()) {
             LOGGER.info("Starting deployment sync");
@@ -66,19 +87,33 @@ public class ConnectorDeploymentSync {
             scheduler.shutdown(ReSynkJob.ID);
         } catch (Exception ignored) {
         }
+
+        provisioner.stop();
     }
 
     private void run() {
         try {
             while (!executor.isShutdown()) {
-                final long timeout = config.connectors().provisioner().queueTimeout().toMillis();
+                if (!fleetManager.isAvailable()) {
+                    // the Control Plane is not reachable, pending events are kept till the circuit closes
+                    Thread.sleep(fleetManager.getCircuitBreaker().getRemaining().toMillis());
+                    continue;
+                }
+
+                // wake up in time for the next parked deployment to be retried or the next re-sync slice
+                final long timeout = Math.min(
+                    config.connectors().provisioner().queueTimeout().toMillis(),
+                    Math.min(retries.getNextAttemptDelay(), resync.getNextSliceDelay()));
+
                 queue.poll(timeout, TimeUnit.MILLISECONDS, deployments -> {
                     LOGGER.debug("connectors to deploy: {}", deployments.size());
 
-                    for (ConnectorDeployment deployment : deployments) {
-                        provisioner.provision(deployment);
-                    }
+                    provisioner.provision(deployments);
+                    checkpoint.provisioned(deployments);
                 });
+
+                provisioner.retry();
+                resync.step();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -102,13 +137,18 @@ public class ConnectorDeploymentSync {
         @Inject
         FleetShardClient connectorClient;
 
+        @Inject
+        ConnectorSyncCheckpoint checkpoint;
+
         @MetricsID(ID)
         @Inject
         MetricsRecorder recorder;
 
         @Override
         public void execute(JobExecutionContext context) {
-            recorder.record(() -> this.queue.submit(connectorClient.getMaxDeploymentResourceRevision()));
+            recorder.record(() -> {
+                this.queue.submit(checkpoint.getPollRevision(connectorClient.getMaxDeploymentResourceRevision()));
+            });
         }
     }
 
@@ -119,13 +159,22 @@ public class ConnectorDeploymentSync {
         @Inject
         ConnectorDeploymentQueue queue;
 
+        @Inject
+        ConnectorDeploymentResync resync;
+
         @MetricsID(ID)
         @Inject
         MetricsRecorder recorder;
 
         @Override
         public void execute(JobExecutionContext context) {
-            recorder.record(queue::submitPoisonPill);
+            recorder.record(() -> {
+                if (resync.isEnabled()) {
+                    resync.request();
+                } else {
+                    queue.submitPoisonPill();
+                }
+            });
         }
     }
 
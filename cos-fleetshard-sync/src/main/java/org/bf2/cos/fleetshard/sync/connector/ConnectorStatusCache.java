@@ -0,0 +1,155 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keep track of the last {@link ConnectorDeploymentStatus} accepted by the Control Plane for each deployment so
+ * unchanged status are not sent again. Entries expire after the configured TTL so the status is periodically
+ * re-asserted, expired entries and entries of deleted connectors are evicted so the cache does not grow with every
+ * deployment ever seen.
+ */
+@ApplicationScoped
+public class ConnectorStatusCache {
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    Clock clock = Clock.systemUTC();
+
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.status.cache";
+
+        FunctionCounter.builder(id + ".hits", hits, AtomicLong::get).register(registry);
+        FunctionCounter.builder(id + ".misses", misses, AtomicLong::get).register(registry);
+        Gauge.builder(id + ".size", entries, Map::size).register(registry);
+    }
+
+    /**
+     * Check if the given status is the same as the last one accepted by the Control Plane.
+     *
+     * @param  deploymentId the deployment id.
+     * @param  status       the status.
+     * @return              true if the status has not changed and the related entry has not expired.
+     */
+    public boolean isUnchanged(String deploymentId, ConnectorDeploymentStatus status) {
+        final Entry entry = entries.get(deploymentId);
+        final long now = clock.millis();
+
+        if (entry != null && entry.expiration <= now) {
+            entries.remove(deploymentId, entry);
+        }
+
+        final boolean unchanged = entry != null
+            && entry.expiration > now
+            && entry.fingerprint == fingerprint(status);
+
+        if (unchanged) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        return unchanged;
+    }
+
+    /**
+     * Record the given status as accepted by the Control Plane.
+     *
+     * @param deploymentId the deployment id.
+     * @param status       the status.
+     */
+    public void put(String deploymentId, ConnectorDeploymentStatus status) {
+        final long ttl = config.connectors().status().cacheTtl().toMillis();
+        if (ttl <= 0) {
+            return;
+        }
+
+        entries.put(deploymentId, new Entry(fingerprint(status), clock.millis() + ttl));
+    }
+
+    /**
+     * Restore a status known to have been accepted by the Control Plane, i.e. before a restart.
+     *
+     * @param deploymentId the deployment id.
+     * @param fingerprint  the fingerprint of the status.
+     */
+    public void restore(String deploymentId, long fingerprint) {
+        final long ttl = config.connectors().status().cacheTtl().toMillis();
+        if (ttl <= 0) {
+            return;
+        }
+
+        entries.putIfAbsent(deploymentId, new Entry(fingerprint, clock.millis() + ttl));
+    }
+
+    public void evict(String deploymentId) {
+        entries.remove(deploymentId);
+    }
+
+    /**
+     * Evict the expired entries.
+     *
+     * @return the number of evicted entries.
+     */
+    public int purge() {
+        final long now = clock.millis();
+        final int size = entries.size();
+
+        entries.values().removeIf(entry -> entry.expiration <= now);
+
+        return size - entries.size();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    static long fingerprint(ConnectorDeploymentStatus status) {
+        Checksum crc32 = new CRC32();
+
+        byte[] bytes = Serialization.asJson(status).getBytes(StandardCharsets.UTF_8);
+        crc32.update(bytes, 0, bytes.length);
+
+        return crc32.getValue();
+    }
+
+    private static class Entry {
+        final long fingerprint;
+        final long expiration;
+
+        Entry(long fingerprint, long expiration) {
+            this.fingerprint = fingerprint;
+            this.expiration = expiration;
+        }
+    }
+}
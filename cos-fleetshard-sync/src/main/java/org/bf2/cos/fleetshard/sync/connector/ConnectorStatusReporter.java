@@ -0,0 +1,198 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Gather the status of {@link ManagedConnector} and report them to the Control Plane in batches.
+ * </p>
+ * A batch is flushed as soon as it reaches the configured size or when the configured window has elapsed. The Control
+ * Plane does not provide a bulk status endpoint so each batch is dispatched as concurrent per-connector calls.
+ * </p>
+ * The status that fail to be pushed are added back to the current batch, unless a newer status of the same connector
+ * has been reported meanwhile, so they are retried with the next batch. A status is dropped once it has failed the
+ * configured number of attempts, the next re-sync pushes the status of the connector again.
+ */
+@ApplicationScoped
+public class ConnectorStatusReporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorStatusReporter.class);
+
+    @Inject
+    ConnectorStatusUpdater updater;
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    ManagedExecutor executor;
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Report> pending = new LinkedHashMap<>();
+    private long windowStart;
+
+    private volatile DistributionSummary batches;
+    private volatile Counter retried;
+    private volatile Counter dropped;
+
+    /**
+     * Register metrics about the reporter:
+     * <ul>
+     * <li>{@code id.batch.size}: the number of status dispatched by each batch</li>
+     * <li>{@code id.retried}: the number of status that failed to be pushed and have been added back to the batch</li>
+     * <li>{@code id.dropped}: the number of status that have been given up after failing all the attempts</li>
+     * </ul>
+     */
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.status";
+
+        batches = DistributionSummary.builder(id + ".batch.size").register(registry);
+        retried = Counter.builder(id + ".retried").register(registry);
+        dropped = Counter.builder(id + ".dropped").register(registry);
+    }
+
+    /**
+     * Extract the status of the given connector and add it to the current batch. If the same connector has already been
+     * reported in the current batch, only the latest status is sent.
+     *
+     * @param connector the connector.
+     */
+    public void report(ManagedConnector connector) {
+        final Report report = new Report(connector, ConnectorStatusExtractor.extract(connector), 1);
+        final Collection<Report> batch;
+
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                windowStart = System.currentTimeMillis();
+            }
+
+            pending.put(connector.getMetadata().getName(), report);
+
+            batch = pending.size() >= config.connectors().status().batchSize()
+                ? drain()
+                : List.of();
+        }
+
+        dispatch(batch);
+    }
+
+    /**
+     * Flush the current batch if the configured window has elapsed.
+     */
+    public void flush() {
+        final Collection<Report> batch;
+
+        synchronized (pending) {
+            final long elapsed = System.currentTimeMillis() - windowStart;
+
+            batch = elapsed >= config.connectors().status().batchWindow().toMillis()
+                ? drain()
+                : List.of();
+        }
+
+        dispatch(batch);
+    }
+
+    private Collection<Report> drain() {
+        final Collection<Report> answer = new ArrayList<>(pending.values());
+        pending.clear();
+
+        return answer;
+    }
+
+    private void dispatch(Collection<Report> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Reporting status of {} connectors", batch.size());
+
+        batches.record(batch.size());
+
+        final Map<Report, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+        for (Report report : batch) {
+            results.put(
+                report,
+                executor.supplyAsync(() -> updater.update(report.connector, report.status))
+                    .exceptionally(e -> {
+                        LOGGER.warn("Error reporting status of connector " + report.connector.getMetadata().getName(), e);
+                        return false;
+                    }));
+        }
+
+        CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new)).join();
+
+        final List<Report> failed = results.entrySet().stream()
+            .filter(e -> !e.getValue().join())
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+
+        if (!failed.isEmpty()) {
+            requeue(failed);
+        }
+    }
+
+    private void requeue(Collection<Report> failed) {
+        final int maxAttempts = config.connectors().status().maxAttempts();
+        int requeued = 0;
+
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                windowStart = System.currentTimeMillis();
+            }
+
+            for (Report report : failed) {
+                if (maxAttempts > 0 && report.attempts >= maxAttempts) {
+                    LOGGER.warn("Giving up reporting status of connector {} after {} attempts till the next re-sync",
+                        report.connector.getMetadata().getName(),
+                        report.attempts);
+
+                    dropped.increment();
+                    continue;
+                }
+
+                // a status reported meanwhile is more recent than the failed one
+                if (pending.putIfAbsent(report.connector.getMetadata().getName(), report.next()) == null) {
+                    requeued++;
+                }
+            }
+        }
+
+        LOGGER.debug("Retrying status of {} connectors with the next batch", requeued);
+
+        retried.increment(requeued);
+    }
+
+    private static class Report {
+        final ManagedConnector connector;
+        final ConnectorDeploymentStatus status;
+        final int attempts;
+
+        Report(ManagedConnector connector, ConnectorDeploymentStatus status, int attempts) {
+            this.connector = connector;
+            this.status = status;
+            this.attempts = attempts;
+        }
+
+        Report next() {
+            return new Report(connector, status, attempts + 1);
+        }
+    }
+}
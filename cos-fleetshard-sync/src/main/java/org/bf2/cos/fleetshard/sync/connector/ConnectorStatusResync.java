@@ -0,0 +1,152 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.support.TokenBucket;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Spread the full re-sync of the connectors status over the re-sync interval.
+ * </p>
+ * When a re-sync is requested, the names of all the known connectors are added to a backlog which is then drained
+ * through a token bucket whose rate is computed so the backlog is completed within the re-sync interval, capped by the
+ * configured max rate. The status is read from the informer cache at dispatch time, so the latest status is always the
+ * one being sent, and a connector whose status has been reported by a watch event in the meantime is dropped from the
+ * backlog.
+ */
+@ApplicationScoped
+public class ConnectorStatusResync {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorStatusResync.class);
+
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    FleetShardClient connectorClient;
+    @Inject
+    MeterRegistry registry;
+
+    private final Map<String, Long> backlog = new LinkedHashMap<>();
+
+    private TokenBucket bucket;
+    private Timer wait;
+
+    public void start() {
+        final String id = config.metrics().baseName() + ".connectors.status.resync";
+
+        Gauge.builder(id + ".pending", this, ConnectorStatusResync::size)
+            .register(registry);
+
+        wait = Timer.builder(id + ".wait")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return config.connectors().status().resync().maxRate() > 0;
+    }
+
+    /**
+     * Add all the known connectors to the backlog. Connectors that are still in the backlog keep their position.
+     */
+    public void request() {
+        final long now = System.currentTimeMillis();
+
+        synchronized (backlog) {
+            if (!backlog.isEmpty()) {
+                LOGGER.info("Status re-sync requested while {} connectors are still pending", backlog.size());
+            }
+
+            for (ManagedConnector connector : connectorClient.getAllConnectors()) {
+                backlog.putIfAbsent(connector.getMetadata().getName(), now);
+            }
+
+            final double rate = rate(backlog.size());
+
+            LOGGER.debug("Re-syncing status of {} connectors at {} per second", backlog.size(), rate);
+
+            bucket = new TokenBucket(rate, (int) Math.ceil(rate));
+        }
+    }
+
+    /**
+     * Remove a connector from the backlog as its status has already been reported.
+     *
+     * @param name the name of the connector.
+     */
+    public void remove(String name) {
+        synchronized (backlog) {
+            backlog.remove(name);
+        }
+    }
+
+    public int size() {
+        synchronized (backlog) {
+            return backlog.size();
+        }
+    }
+
+    /**
+     * Hand over to the consumer as many connectors from the backlog as the rate limit allows.
+     *
+     * @param consumer the consumer.
+     */
+    public void dispatch(Consumer<ManagedConnector> consumer) {
+        final long now = System.currentTimeMillis();
+        final List<ManagedConnector> connectors = new ArrayList<>();
+
+        synchronized (backlog) {
+            final Iterator<Map.Entry<String, Long>> it = backlog.entrySet().iterator();
+
+            while (it.hasNext() && bucket.tryAcquire(1) == 0) {
+                final Map.Entry<String, Long> entry = it.next();
+                it.remove();
+
+                wait.record(now - entry.getValue(), TimeUnit.MILLISECONDS);
+
+                final Optional<ManagedConnector> connector = connectorClient.getConnectorByName(entry.getKey());
+                if (connector.isPresent()) {
+                    connectors.add(connector.get());
+                } else {
+                    // the connector has been deleted meanwhile, do not waste the permit
+                    bucket.release(1);
+                }
+            }
+        }
+
+        // report outside the lock so a new re-sync can be requested meanwhile
+        connectors.forEach(consumer);
+    }
+
+    /**
+     * @return the rate needed to complete the given number of pushes within the re-sync interval, capped by the max rate.
+     */
+    double rate(int pushes) {
+        final double max = config.connectors().status().resync().maxRate();
+        final Duration interval = config.connectors().status().resyncInterval();
+
+        if (interval.isZero()) {
+            return max;
+        }
+
+        return Math.min(max, (double) pushes * 1000 / interval.toMillis());
+    }
+}
@@ -8,6 +8,7 @@ import org.bf2.cos.fleetshard.support.metrics.MetricsID;
 import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
 import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
 import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
 import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
@@ -15,12 +16,14 @@ import org.quartz.JobExecutionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @ApplicationScoped
 public class ConnectorStatusSync {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorStatusSync.class);
 
     @Inject
-    ConnectorStatusUpdater updater;
+    ConnectorStatusReporter reporter;
     @Inject
     FleetShardClient connectorClient;
     @Inject
@@ -29,10 +32,35 @@ public class ConnectorStatusSync {
     FleetShardSyncConfig config;
     @Inject
     FleetShardSyncScheduler scheduler;
+    @Inject
+    ConnectorStatusCache cache;
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    FleetManagerClient fleetManager;
+    @Inject
+    ConnectorStatusResync resync;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
 
     public void start() throws Exception {
         LOGGER.info("Starting connector status sync");
 
+        cache.start();
+        resync.start();
+        reporter.start();
+
+        if (checkpoint.isEnabled()) {
+            restore();
+        }
+
+        // the status of a deleted connector is not reported anymore
+        connectorClient.watchConnectorDeletions(
+            connector -> cache.evict(connector.getSpec().getDeploymentId()));
+
+        queue.setCapacity(config.connectors().status().queueCapacity());
+        queue.registerMetrics(registry, config.metrics().baseName() + ".connectors.status.queue");
+
         scheduler.schedule(
             ReSynkJob.ID,
             ReSynkJob.class,
@@ -61,14 +89,46 @@ public class ConnectorStatusSync {
         }
     }
 
+    /**
+     * Restore the status pushed before a restart, so the first re-sync only pushes the status that have changed
+     * meanwhile. Status pushed for an older revision of the deployment are outdated and not restored.
+     */
+    private void restore() {
+        int restored = 0;
+
+        for (ManagedConnector connector : connectorClient.getAllConnectors()) {
+            final String deploymentId = connector.getSpec().getDeploymentId();
+            final Long revision = connector.getSpec().getDeployment().getDeploymentResourceVersion();
+
+            if (revision != null && checkpoint.getStatusRevision(deploymentId).filter(revision::equals).isPresent()) {
+                cache.restore(deploymentId, checkpoint.getStatusFingerprint(deploymentId).get());
+                restored++;
+            }
+        }
+
+        LOGGER.info("Restored {} connector status from checkpoint", restored);
+    }
+
     public void run() {
+        if (!fleetManager.isAvailable()) {
+            LOGGER.debug("Control Plane not available, skipping status update");
+            return;
+        }
+
         queue.run(connectors -> {
             LOGGER.debug("connectors to update: {}", connectors.size());
 
             for (ManagedConnector connector : connectors) {
-                updater.update(connector);
+                // the status is being reported, no need to do it again as part of the re-sync
+                resync.remove(connector.getMetadata().getName());
+                reporter.report(connector);
             }
         });
+
+        // event driven updates go first, the re-sync gets the remaining budget
+        resync.dispatch(reporter::report);
+
+        reporter.flush();
     }
 
     @DisallowConcurrentExecution
@@ -78,13 +138,27 @@ public class ConnectorStatusSync {
         @Inject
         ConnectorStatusQueue queue;
 
+        @Inject
+        ConnectorStatusResync resync;
+
+        @Inject
+        ConnectorStatusCache cache;
+
         @MetricsID(ID)
         @Inject
         MetricsRecorder recorder;
 
         @Override
         public void execute(JobExecutionContext context) {
-            recorder.record(queue::submitPoisonPill);
+            recorder.record(() -> {
+                cache.purge();
+
+                if (resync.isEnabled()) {
+                    resync.request();
+                } else {
+                    queue.submitPoisonPill();
+                }
+            });
         }
     }
 
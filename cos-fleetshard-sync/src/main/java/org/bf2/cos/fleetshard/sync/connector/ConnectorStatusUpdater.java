@@ -3,6 +3,7 @@ package org.bf2.cos.fleetshard.sync.connector;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
 import org.bf2.cos.fleetshard.api.ManagedConnector;
 import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
 import org.bf2.cos.fleetshard.sync.client.FleetManagerClientException;
@@ -18,30 +19,54 @@ public class ConnectorStatusUpdater {
     FleetManagerClient fleetManagerClient;
     @Inject
     FleetShardClient connectorClient;
+    @Inject
+    ConnectorStatusCache cache;
+    @Inject
+    ConnectorSyncCheckpoint checkpoint;
 
-    public void update(ManagedConnector connector) {
+    /**
+     * Push the status of a connector to the Control Plane.
+     *
+     * @param  connector the connector.
+     * @param  status    the status.
+     * @return           false if the status could not be pushed and should be retried, true otherwise.
+     */
+    public boolean update(ManagedConnector connector, ConnectorDeploymentStatus status) {
         LOGGER.debug("Update connector status (name: {}, phase: {})",
             connector.getMetadata().getName(),
             connector.getStatus().getPhase());
 
-        try {
-            fleetManagerClient.updateConnectorStatus(
-                connector,
-                ConnectorStatusExtractor.extract(connector));
+        final String deploymentId = connector.getSpec().getDeploymentId();
+
+        if (cache.isUnchanged(deploymentId, status)) {
+            LOGGER.debug("Skip unchanged connector status (name: {})", connector.getMetadata().getName());
+            return true;
+        }
 
+        try {
+            fleetManagerClient.updateConnectorStatus(connector, status);
+            cache.put(deploymentId, status);
+            checkpoint.statusPushed(deploymentId, status);
         } catch (FleetManagerClientException e) {
             // TODO: remove 404 after https://github.com/bf2fc6cc711aee1a0c2a/cos-fleet-manager/issues/2
             if (e.getStatusCode() == 404 || e.getStatusCode() == 410) {
+                cache.evict(deploymentId);
+                checkpoint.remove(deploymentId);
+
                 LOGGER.info("Connector " + connector.getMetadata().getName() + " does not exists anymore, deleting it");
                 if (connectorClient.deleteConnector(connector)) {
                     LOGGER.info("Connector " + connector.getMetadata().getName() + " deleted");
                 }
             } else {
                 LOGGER.warn("Error updating status of connector " + connector.getMetadata().getName(), e);
+                return false;
             }
         } catch (Exception e) {
             LOGGER.warn("Error updating status of connector " + connector.getMetadata().getName(), e);
+            return false;
         }
+
+        return true;
     }
 
 }
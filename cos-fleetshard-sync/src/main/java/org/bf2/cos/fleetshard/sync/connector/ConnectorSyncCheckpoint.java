@@ -0,0 +1,396 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.support.metrics.MetricsID;
+import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keep track of the progress of the synchronizer and persist it in a config map owned by the
+ * {@link org.bf2.cos.fleetshard.api.ManagedConnectorCluster}, so a restarted synchronizer resumes incrementally instead
+ * of replaying all the deployments and status. The checkpoint holds:
+ * <ul>
+ * <li>the last revision up to which all the deployments have been applied</li>
+ * <li>the time the last full re-sync of the deployments completed</li>
+ * <li>the revision and the fingerprint of the last status pushed for each deployment</li>
+ * </ul>
+ * Changes are only recorded in memory and written at the checkpoint interval, so the checkpoint costs at most one write
+ * per interval whatever the number of deployments.
+ */
+@ApplicationScoped
+public class ConnectorSyncCheckpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorSyncCheckpoint.class);
+
+    public static final String KEY_DEPLOYMENTS_REVISION = "deployments.revision";
+    public static final String KEY_DEPLOYMENTS_RESYNC = "deployments.resync";
+    public static final String KEY_STATUS = "status";
+
+    @Inject
+    FleetShardSyncConfig config;
+    @Inject
+    FleetShardClient connectorClient;
+    @Inject
+    ConnectorDeploymentRetryQueue retries;
+    @Inject
+    FleetShardSyncScheduler scheduler;
+    @Inject
+    MeterRegistry registry;
+
+    private final AtomicLong provisioned = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Map<String, StatusEntry> status = new ConcurrentHashMap<>();
+
+    private volatile Instant resyncTime;
+    private volatile boolean recovering;
+
+    public void start() throws Exception {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final String id = config.metrics().baseName() + ".connectors.checkpoint";
+
+        Gauge.builder(id + ".revision", written, AtomicLong::get)
+            .register(registry);
+        FunctionCounter.builder(id + ".writes", writes, AtomicLong::get)
+            .register(registry);
+
+        load(connectorClient.getCheckpoint().orElseGet(Map::of));
+
+        LOGGER.info("Starting sync checkpoint (revision: {}, resync: {}, status: {})",
+            provisioned.get(),
+            resyncTime,
+            status.size());
+
+        scheduler.schedule(
+            FlushJob.ID,
+            FlushJob.class,
+            config.connectors().checkpoint().interval());
+    }
+
+    public void stop() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            scheduler.shutdown(FlushJob.ID);
+        } catch (Exception ignored) {
+        }
+
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return config.connectors().checkpoint().enabled();
+    }
+
+    /**
+     * @return the last revision up to which all the deployments have been applied.
+     */
+    public long getDeploymentRevision() {
+        return Math.min(provisioned.get(), retries.getMinRevision() - 1);
+    }
+
+    /**
+     * Compute the revision deployments are polled from.
+     * </p>
+     * Failed revisions are parked in memory and retried by the {@link ConnectorDeploymentRetryQueue}, so the revision of
+     * the existing connectors is used as long as it is higher than the checkpoint, as the connectors of deleted
+     * deployments and failed revisions are not visible. The retry queue is lost by a restart though, so the first poll
+     * after a restart starts from the loaded checkpoint when it is lower, to fetch again the deployments that were not
+     * applied when the synchronizer stopped.
+     *
+     * @param  connectorsRevision the highest revision among the existing connectors.
+     * @return                    the revision to poll deployments from.
+     */
+    public long getPollRevision(long connectorsRevision) {
+        if (!isEnabled()) {
+            return connectorsRevision;
+        }
+
+        final long revision = getDeploymentRevision();
+
+        return recovering
+            ? Math.min(revision, connectorsRevision)
+            : Math.max(revision, connectorsRevision);
+    }
+
+    /**
+     * Compute how long the first re-sync can be deferred, so a restart does not trigger a full re-sync if one has been
+     * performed recently.
+     *
+     * @param  interval the re-sync interval.
+     * @return          the delay before the first re-sync.
+     */
+    public Duration getResyncDelay(Duration interval) {
+        if (!isEnabled() || resyncTime == null) {
+            return Duration.ZERO;
+        }
+
+        final Duration elapsed = Duration.between(resyncTime, Instant.now());
+
+        return elapsed.isNegative() || elapsed.compareTo(interval) >= 0
+            ? Duration.ZERO
+            : interval.minus(elapsed);
+    }
+
+    /**
+     * @param  deploymentId the deployment id.
+     * @return              the revision of the last status pushed for the given deployment, if known.
+     */
+    public Optional<Long> getStatusRevision(String deploymentId) {
+        return Optional.ofNullable(status.get(deploymentId)).map(e -> e.revision);
+    }
+
+    /**
+     * @param  deploymentId the deployment id.
+     * @return              the fingerprint of the last status pushed for the given deployment, if known.
+     */
+    public Optional<Long> getStatusFingerprint(String deploymentId) {
+        return Optional.ofNullable(status.get(deploymentId)).map(e -> e.fingerprint);
+    }
+
+    /**
+     * Record a batch of deployments that has been provisioned. The revisions that have failed and are parked are not
+     * considered applied until they succeed, which is accounted for when the checkpoint is computed.
+     *
+     * @param deployments the deployments.
+     */
+    public void provisioned(Iterable<ConnectorDeployment> deployments) {
+        long max = 0;
+        for (ConnectorDeployment deployment : deployments) {
+            final Long revision = deployment.getMetadata().getResourceVersion();
+            if (revision != null) {
+                max = Math.max(max, revision);
+            }
+        }
+
+        // the deployments not applied before a restart have been fetched again
+        recovering = false;
+
+        final long revision = max;
+        if (provisioned.getAndAccumulate(revision, Math::max) < revision) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Record the completion of a full re-sync of the deployments, which must only be invoked once all the deployments
+     * have been provisioned. The status of the deployments that have no connector anymore are dropped, so the checkpoint
+     * does not grow with deleted connectors whose deletion has been missed.
+     */
+    public void resynced() {
+        final Set<String> deployments = new HashSet<>();
+        for (ManagedConnector connector : connectorClient.getAllConnectors()) {
+            deployments.add(connector.getSpec().getDeploymentId());
+        }
+
+        final int size = status.size();
+        status.keySet().retainAll(deployments);
+
+        if (status.size() < size) {
+            LOGGER.debug("Pruned {} status from sync checkpoint", size - status.size());
+        }
+
+        resyncTime = Instant.now();
+        dirty.set(true);
+    }
+
+    /**
+     * Record the status accepted by the Control Plane for a deployment.
+     *
+     * @param deploymentId the deployment id.
+     * @param status       the status.
+     */
+    public void statusPushed(String deploymentId, ConnectorDeploymentStatus status) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        final long revision = status.getResourceVersion() != null ? status.getResourceVersion() : 0;
+        final StatusEntry entry = new StatusEntry(revision, ConnectorStatusCache.fingerprint(status));
+
+        if (!entry.equals(this.status.put(deploymentId, entry))) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Forget about a deployment that does not exist anymore.
+     *
+     * @param deploymentId the deployment id.
+     */
+    public void remove(String deploymentId) {
+        if (status.remove(deploymentId) != null) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * Write the checkpoint if something has changed since the last write.
+     */
+    public void flush() {
+        final long revision = getDeploymentRevision();
+
+        if (!dirty.getAndSet(false) && revision == written.get()) {
+            return;
+        }
+
+        try {
+            connectorClient.updateCheckpoint(toData(revision));
+
+            written.set(revision);
+            writes.incrementAndGet();
+        } catch (Exception e) {
+            // keep the changes so they are written by the next flush
+            dirty.set(true);
+
+            LOGGER.warn("Failure writing sync checkpoint", e);
+        }
+    }
+
+    void load(Map<String, String> data) {
+        if (data == null) {
+            return;
+        }
+
+        final String revision = data.get(KEY_DEPLOYMENTS_REVISION);
+        if (revision != null) {
+            provisioned.set(Long.parseLong(revision));
+            written.set(provisioned.get());
+            recovering = true;
+        }
+
+        final String resync = data.get(KEY_DEPLOYMENTS_RESYNC);
+        if (resync != null) {
+            resyncTime = Instant.parse(resync);
+        }
+
+        final String entries = data.get(KEY_STATUS);
+        if (entries != null) {
+            try {
+                Map<String, StatusEntry> values = Serialization.jsonMapper().readValue(
+                    entries,
+                    new TypeReference<Map<String, StatusEntry>>() {
+                    });
+
+                status.putAll(values);
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("Failure reading status from sync checkpoint, ignoring them", e);
+            }
+        }
+    }
+
+    Map<String, String> toData(long revision) {
+        final Map<String, String> answer = new HashMap<>();
+        answer.put(KEY_DEPLOYMENTS_REVISION, Long.toString(revision));
+
+        if (resyncTime != null) {
+            answer.put(KEY_DEPLOYMENTS_RESYNC, resyncTime.toString());
+        }
+
+        // sorted so unchanged entries always produce the same content
+        answer.put(KEY_STATUS, Serialization.asJson(new TreeMap<>(status)));
+
+        return answer;
+    }
+
+    public static final class StatusEntry {
+        private long revision;
+        private long fingerprint;
+
+        public StatusEntry() {
+        }
+
+        StatusEntry(long revision, long fingerprint) {
+            this.revision = revision;
+            this.fingerprint = fingerprint;
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public void setRevision(long revision) {
+            this.revision = revision;
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(long fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatusEntry)) {
+                return false;
+            }
+
+            StatusEntry entry = (StatusEntry) o;
+            return revision == entry.revision && fingerprint == entry.fingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(revision) * 31 + Long.hashCode(fingerprint);
+        }
+    }
+
+    @DisallowConcurrentExecution
+    public static class FlushJob implements Job {
+        public static final String ID = "cos.connectors.checkpoint";
+
+        @Inject
+        ConnectorSyncCheckpoint checkpoint;
+
+        @MetricsID(ID)
+        @Inject
+        MetricsRecorder recorder;
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            recorder.record(checkpoint::flush);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentAllOfMetadata;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentSpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectorDeploymentListReaderTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorDeploymentListReaderTest.class);
+    private static final ObjectMapper MAPPER = Serialization.jsonMapper();
+    private static final int ITEMS = 100;
+
+    @Test
+    void readPage() throws Exception {
+        final byte[] page = page(3, 1);
+        final List<ConnectorDeployment> items = new ArrayList<>();
+
+        ConnectorDeploymentList answer = new ConnectorDeploymentListReader(MAPPER)
+            .read(new ByteArrayInputStream(page), items::add);
+
+        assertThat(answer.getKind()).isEqualTo("ConnectorDeploymentList");
+        assertThat(answer.getPage()).isEqualTo(1);
+        assertThat(answer.getSize()).isEqualTo(3);
+        assertThat(answer.getTotal()).isEqualTo(3);
+        assertThat(answer.getItems()).isEmpty();
+
+        assertThat(items)
+            .extracting(ConnectorDeployment::getId)
+            .containsExactly("d0", "d1", "d2");
+        assertThat(items)
+            .allSatisfy(d -> {
+                assertThat(d.getMetadata().getCreatedAt()).isNotNull();
+                assertThat(d.getSpec().getConnectorSpec().requiredAt("/field0").asText()).isEqualTo("value0");
+            });
+
+        // the result must be the same as the one of the data binding
+        assertThat(items)
+            .isEqualTo(MAPPER.readValue(page, ConnectorDeploymentList.class).getItems());
+    }
+
+    @Test
+    void unknownFieldsAreSkipped() throws Exception {
+        final String json = "{"
+            + "\"kind\": \"ConnectorDeploymentList\","
+            + "\"extra\": { \"nested\": [ 1, 2, { \"a\": \"b\" } ] },"
+            + "\"items\": [ { \"id\": \"d1\", \"unknown\": { \"x\": 1 }, \"metadata\": { \"resource_version\": 7 } } ],"
+            + "\"total\": 1"
+            + "}";
+
+        final List<ConnectorDeployment> items = new ArrayList<>();
+
+        ConnectorDeploymentList answer = new ConnectorDeploymentListReader(MAPPER)
+            .read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), items::add);
+
+        assertThat(answer.getTotal()).isEqualTo(1);
+        assertThat(items)
+            .hasSize(1)
+            .first()
+            .satisfies(d -> {
+                assertThat(d.getId()).isEqualTo("d1");
+                assertThat(d.getMetadata().getResourceVersion()).isEqualTo(7L);
+            });
+    }
+
+    @Test
+    void readRevisions() throws Exception {
+        final String json = "{"
+            + "\"kind\": \"ConnectorDeploymentList\","
+            + "\"items\": ["
+            + "  { \"id\": \"d1\","
+            + "    \"spec\": { \"metadata\": { \"resource_version\": 1 } },"
+            + "    \"metadata\": { \"resource_version\": 7 } },"
+            + "  { \"id\": \"d2\", \"metadata\": { \"created_at\": \"2022-01-01T00:00:00Z\" } },"
+            + "  { \"metadata\": { \"extra\": [ 1 ], \"resource_version\": 3 }, \"id\": \"d3\" }"
+            + "],"
+            + "\"total\": 3"
+            + "}";
+
+        final long[] answer = new ConnectorDeploymentListReader(MAPPER)
+            .readRevisions(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(answer).containsExactly(7L, 0L, 3L);
+    }
+
+    @Test
+    void readRevisionsOfGeneratedPage() throws Exception {
+        assertThat(new ConnectorDeploymentListReader(MAPPER).readRevisions(new ByteArrayInputStream(page(40, 2))))
+            .hasSize(40)
+            .startsWith(0L, 1L, 2L)
+            .endsWith(39L);
+    }
+
+    @Test
+    void nullItems() throws Exception {
+        final String json = "{ \"kind\": \"ConnectorDeploymentList\", \"items\": null, \"total\": 0 }";
+        final List<ConnectorDeployment> items = new ArrayList<>();
+
+        ConnectorDeploymentList answer = new ConnectorDeploymentListReader(MAPPER)
+            .read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), items::add);
+
+        assertThat(answer.getTotal()).isZero();
+        assertThat(items).isEmpty();
+    }
+
+    /**
+     * Compare the memory allocated and retained to read a page using the data binding and the streaming reader. Run with
+     * {@code -Dbenchmark=true}.
+     * </p>
+     * The retained heap is the heap used, after a collection, while the deployments are handed over to the provisioner:
+     * the whole page for the data binding, a single deployment for the streaming reader. The raw page is retained in both
+     * cases.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void allocationBenchmark() throws Exception {
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final ConnectorDeploymentListReader reader = new ConnectorDeploymentListReader(MAPPER);
+        final byte[] page = page(ITEMS, 200);
+        final int iterations = 200;
+
+        // warm up both paths
+        for (int i = 0; i < iterations; i++) {
+            MAPPER.readValue(page, ConnectorDeploymentList.class);
+            reader.read(new ByteArrayInputStream(page), d -> {
+            });
+        }
+
+        long start = bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < iterations; i++) {
+            MAPPER.readValue(page, ConnectorDeploymentList.class);
+        }
+        final long bindingAllocated = (bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start) / iterations;
+
+        start = bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < iterations; i++) {
+            reader.read(new ByteArrayInputStream(page), d -> {
+                // the deployment becomes unreachable as soon as the consumer returns
+            });
+        }
+        final long streamingAllocated = (bean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start) / iterations;
+
+        // retained heap, measured while the deployments are being provisioned
+        final long bindingBaseline = usedHeap();
+        final ConnectorDeploymentList list = MAPPER.readValue(page, ConnectorDeploymentList.class);
+        final long bindingRetained = usedHeap() - bindingBaseline;
+
+        assertThat(list.getItems()).hasSize(ITEMS);
+
+        final long streamingBaseline = usedHeap();
+        final AtomicLong streamingRetained = new AtomicLong();
+
+        reader.read(new ByteArrayInputStream(page), d -> {
+            if (d.getMetadata().getResourceVersion() == ITEMS / 2) {
+                streamingRetained.set(usedHeap() - streamingBaseline);
+            }
+        });
+
+        LOGGER.info("page size: {} bytes, items: {}", page.length, ITEMS);
+        LOGGER.info("data binding: {} bytes allocated per page, {} bytes retained", bindingAllocated, bindingRetained);
+        LOGGER.info("streaming:    {} bytes allocated per page, {} bytes retained", streamingAllocated,
+            streamingRetained.get());
+
+        assertThat(streamingRetained.get()).isLessThan(bindingRetained / 10);
+    }
+
+    private static long usedHeap() {
+        final MemoryMXBean bean = ManagementFactory.getMemoryMXBean();
+
+        for (int i = 0; i < 3; i++) {
+            bean.gc();
+        }
+
+        return bean.getHeapMemoryUsage().getUsed();
+    }
+
+    private static byte[] page(int items, int specFields) throws Exception {
+        final List<ConnectorDeployment> deployments = IntStream.range(0, items)
+            .mapToObj(i -> {
+                ObjectNode spec = MAPPER.createObjectNode();
+                for (int f = 0; f < specFields; f++) {
+                    spec.put("field" + f, "value" + f);
+                }
+
+                return new ConnectorDeployment()
+                    .id("d" + i)
+                    .kind("ConnectorDeployment")
+                    .metadata(new ConnectorDeploymentAllOfMetadata()
+                        .resourceVersion((long) i)
+                        .createdAt(OffsetDateTime.now()))
+                    .spec(new ConnectorDeploymentSpec()
+                        .connectorId("c" + i)
+                        .connectorSpec(spec)
+                        .shardMetadata(spec.deepCopy()));
+            })
+            .collect(Collectors.toList());
+
+        return MAPPER.writeValueAsBytes(new ConnectorDeploymentList()
+            .kind("ConnectorDeploymentList")
+            .page(1)
+            .size(items)
+            .total(items)
+            .items(deployments));
+    }
+}
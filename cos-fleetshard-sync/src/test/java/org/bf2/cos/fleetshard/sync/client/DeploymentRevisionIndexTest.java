@@ -0,0 +1,47 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.util.Map;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.support.resources.Connectors;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeploymentRevisionIndexTest {
+
+    @Test
+    void maxIsTrackedAcrossEvents() {
+        final DeploymentRevisionIndex index = new DeploymentRevisionIndex();
+
+        final ManagedConnector c1 = connector("d1", 1);
+        final ManagedConnector c2 = connector("d2", 5);
+        final ManagedConnector c3 = connector("d3", 5);
+
+        assertThat(index.getMax()).isZero();
+
+        index.onAdd(c1);
+        index.onAdd(c2);
+        index.onAdd(c3);
+        assertThat(index.getMax()).isEqualTo(5);
+
+        // a revision shared by two connectors is kept until both are gone
+        index.onDelete(c2, false);
+        assertThat(index.getMax()).isEqualTo(5);
+        index.onDelete(c3, false);
+        assertThat(index.getMax()).isEqualTo(1);
+
+        index.onUpdate(c1, connector("d1", 7));
+        assertThat(index.getMax()).isEqualTo(7);
+
+        index.onDelete(c1, false);
+        assertThat(index.getMax()).isZero();
+    }
+
+    private static ManagedConnector connector(String deploymentId, long revision) {
+        ManagedConnector connector = Connectors.newConnector("cid", "connector", deploymentId, Map.of());
+        connector.getSpec().getDeployment().setDeploymentResourceVersion(revision);
+
+        return connector;
+    }
+}
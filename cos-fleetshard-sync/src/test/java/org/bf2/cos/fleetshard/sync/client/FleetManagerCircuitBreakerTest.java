@@ -0,0 +1,79 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FleetManagerCircuitBreakerTest {
+
+    @Test
+    void openAfterConsecutiveFailures() {
+        final FleetManagerCircuitBreaker breaker = new FleetManagerCircuitBreaker(2, Duration.ofMinutes(1));
+
+        assertThat(breaker.allow()).isTrue();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        // failures are not consecutive
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.CLOSED);
+
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.allow()).isFalse();
+        assertThat(breaker.getShed()).isEqualTo(1);
+        assertThat(breaker.getRemaining()).isPositive();
+    }
+
+    @Test
+    void halfOpenAfterOpenDuration() {
+        final FleetManagerCircuitBreaker breaker = new FleetManagerCircuitBreaker(1, Duration.ZERO);
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.OPEN);
+
+        // a single trial call is let through
+        assertThat(breaker.allow()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.allow()).isFalse();
+
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.OPEN);
+
+        assertThat(breaker.allow()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allow()).isTrue();
+    }
+
+    @Test
+    void disabled() {
+        final FleetManagerCircuitBreaker breaker = new FleetManagerCircuitBreaker(0, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onFailure();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(FleetManagerCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allow()).isTrue();
+    }
+
+    @Test
+    void exponentialBackoff() {
+        final FleetManagerRetryPolicy policy = new FleetManagerRetryPolicy(
+            5,
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(5),
+            0);
+
+        assertThat(policy.backoff(1)).isEqualTo(1000);
+        assertThat(policy.backoff(2)).isEqualTo(2000);
+        assertThat(policy.backoff(3)).isEqualTo(4000);
+        assertThat(policy.backoff(4)).isEqualTo(5000);
+        assertThat(policy.backoff(64)).isEqualTo(5000);
+    }
+}
@@ -0,0 +1,308 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.bf2.cos.fleet.manager.api.ConnectorClustersAgentApi;
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentAllOfMetadata;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FleetManagerClientTest {
+    private static final String CLUSTER_ID = "c1";
+
+    private FleetShardSyncConfig config;
+    private ExecutorService pool;
+    private AtomicReference<Future<?>> fetcher;
+    private AtomicInteger fetched;
+    private ManagedExecutor executor;
+    private ConnectorClustersAgentApi controlPlane;
+    private ConnectorDeploymentsStreamApi deploymentsStream;
+
+    @BeforeEach
+    void setUp() {
+        config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.cluster().id()).thenReturn(CLUSTER_ID);
+        when(config.manager().connectTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.manager().readTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.manager().transport().maxConnections()).thenReturn(1);
+        when(config.manager().transport().keepAlive()).thenReturn(Duration.ZERO);
+        when(config.manager().transport().leaseTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.manager().circuitBreaker().failureThreshold()).thenReturn(10);
+        when(config.manager().circuitBreaker().openDuration()).thenReturn(Duration.ofSeconds(30));
+        when(config.manager().retry().maxAttempts()).thenReturn(1);
+        when(config.manager().retry().operations()).thenReturn(Map.of());
+        when(config.manager().retry().initialBackoff()).thenReturn(Duration.ofMillis(1));
+        when(config.manager().retry().maxBackoff()).thenReturn(Duration.ofMillis(1));
+        when(config.connectors().poll().targetLatency()).thenReturn(Duration.ofSeconds(1));
+
+        pool = Executors.newSingleThreadExecutor();
+        fetcher = new AtomicReference<>();
+        fetched = new AtomicInteger();
+
+        executor = Mockito.mock(ManagedExecutor.class);
+        when(executor.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            fetcher.set(pool.submit(invocation.getArgument(0, Runnable.class)));
+            return fetcher.get();
+        });
+
+        controlPlane = Mockito.mock(ConnectorClustersAgentApi.class);
+        deploymentsStream = Mockito.mock(ConnectorDeploymentsStreamApi.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void prefetchedPagesAreHandedOverInResourceVersionOrder() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(2);
+
+        fetch("1", page(5, 3, 1));
+        fetch("2", page(5, 5, 4));
+        fetch("3", page(5, 6));
+
+        final List<List<Long>> pages = new ArrayList<>();
+        client().getDeployments(0, deployments -> pages.add(revisions(deployments)));
+
+        assertThat(pages).containsExactly(
+            List.of(1L, 3L),
+            List.of(4L, 5L),
+            List.of(6L));
+    }
+
+    @Test
+    void prefetchStopsOnceTheTotalIsReached() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(2);
+
+        // the Control Plane would keep answering with the same page
+        when(controlPlane.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), anyString(), any(), anyLong(), any()))
+            .thenAnswer(invocation -> page(3, 1));
+
+        final List<List<Long>> pages = new ArrayList<>();
+        client().getDeployments(0, deployments -> pages.add(revisions(deployments)));
+
+        assertThat(pages).hasSize(3);
+
+        verify(controlPlane, never())
+            .getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), eq("4"), any(), anyLong(), any());
+    }
+
+    @Test
+    void prefetchIsBounded() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(1);
+
+        when(controlPlane.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), anyString(), any(), anyLong(), any()))
+            .thenAnswer(invocation -> {
+                fetched.incrementAndGet();
+                return page(10, 1);
+            });
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger consumed = new AtomicInteger();
+        final FleetManagerClient client = client();
+        final Future<?> consumer = Executors.newSingleThreadExecutor().submit(() -> {
+            client.getDeployments(0, deployments -> {
+                if (consumed.incrementAndGet() == 1) {
+                    awaitQuietly(release);
+                }
+            });
+        });
+
+        try {
+            // the page being consumed, the buffered one and the one waiting to be buffered
+            await().atMost(10, TimeUnit.SECONDS).until(() -> fetched.get() == 3);
+            await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> fetched.get() == 3);
+        } finally {
+            release.countDown();
+        }
+
+        consumer.get(10, TimeUnit.SECONDS);
+
+        assertThat(fetched).hasValue(10);
+        assertThat(consumed).hasValue(10);
+    }
+
+    @Test
+    void fetchFailuresArePropagated() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(2);
+
+        fetch("1", page(4, 1, 2));
+        when(controlPlane.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), eq("2"), any(), anyLong(), any()))
+            .thenThrow(new IllegalArgumentException("boom"));
+
+        final List<List<Long>> pages = new ArrayList<>();
+
+        assertThatThrownBy(() -> client().getDeployments(0, deployments -> pages.add(revisions(deployments))))
+            .isInstanceOf(FleetManagerClientException.class)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+
+        assertThat(pages).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void fetchErrorsArePropagated() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(2);
+
+        // the error is raised by the fetcher while sorting the page, outside of the call to the Control Plane
+        final ConnectorDeployment broken = Mockito.mock(ConnectorDeployment.class);
+        when(broken.getMetadata()).thenThrow(new StackOverflowError());
+
+        final ConnectorDeploymentList list = page(4, 3);
+        list.addItemsItem(broken);
+
+        fetch("1", page(4, 1, 2));
+        fetch("2", list);
+
+        final List<List<Long>> pages = new ArrayList<>();
+
+        assertThatThrownBy(() -> client().getDeployments(0, deployments -> pages.add(revisions(deployments))))
+            .isInstanceOf(FleetManagerClientException.class)
+            .hasRootCauseInstanceOf(StackOverflowError.class);
+
+        assertThat(pages).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    void fetcherIsCancelledWhenTheConsumerFails() throws Exception {
+        when(config.connectors().provisioner().prefetch()).thenReturn(1);
+
+        when(controlPlane.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), anyString(), any(), anyLong(), any()))
+            .thenAnswer(invocation -> {
+                fetched.incrementAndGet();
+                return page(100, 1);
+            });
+
+        assertThatThrownBy(() -> client().getDeployments(0, deployments -> {
+            // give the fetcher the time to fill the buffer and block
+            await().atMost(10, TimeUnit.SECONDS).until(() -> fetched.get() == 3);
+            throw new IllegalStateException("provisioning failed");
+        }))
+            .isInstanceOf(FleetManagerClientException.class)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(fetcher.get().isCancelled()).isTrue();
+
+        // the fetcher thread has been released instead of staying blocked on the full buffer
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(fetched).hasValue(3);
+    }
+
+    @Test
+    void streamedPagesAreHandedOverInResourceVersionOrder() throws Exception {
+        when(config.connectors().provisioner().streaming()).thenReturn(true);
+        when(config.connectors().provisioner().workers()).thenReturn(2);
+
+        // the items of a page are not sorted, the lowest revisions come after a whole chunk of higher ones
+        stream("1", page(8, 5, 6, 1, 4, 2, 3));
+        stream("2", page(8, 8, 7));
+
+        final List<List<Long>> chunks = new ArrayList<>();
+        client().getDeployments(0, deployments -> chunks.add(revisions(deployments)));
+
+        assertThat(chunks).containsExactly(
+            List.of(1L, 2L),
+            List.of(3L, 4L),
+            List.of(5L, 6L),
+            List.of(7L, 8L));
+    }
+
+    @Test
+    void streamedPagesKeepTheOrderOfSameRevisions() throws Exception {
+        when(config.connectors().provisioner().streaming()).thenReturn(true);
+        when(config.connectors().provisioner().workers()).thenReturn(4);
+
+        stream("1", page(3, 2, 1, 1));
+
+        final List<ConnectorDeployment> deployments = new ArrayList<>();
+        client().getDeployments(0, deployments::addAll);
+
+        assertThat(deployments)
+            .extracting(ConnectorDeployment::getId)
+            .containsExactly("d2", "d3", "d1");
+    }
+
+    private FleetManagerClient client() {
+        return new FleetManagerClient(config, executor, new SimpleMeterRegistry(), controlPlane, deploymentsStream);
+    }
+
+    private void fetch(String page, ConnectorDeploymentList list) throws Exception {
+        when(controlPlane.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), eq(page), any(), anyLong(), any()))
+            .thenReturn(list);
+    }
+
+    private void stream(String page, ConnectorDeploymentList list) throws Exception {
+        final byte[] content = Serialization.jsonMapper().writeValueAsBytes(list);
+
+        when(deploymentsStream.getClusterAsignedConnectorDeployments(eq(CLUSTER_ID), eq(page), any(), anyLong(), any()))
+            .thenAnswer(invocation -> new ByteArrayInputStream(content));
+    }
+
+    static ConnectorDeploymentList page(int total, long... revisions) {
+        final ConnectorDeploymentList answer = new ConnectorDeploymentList()
+            .kind("ConnectorDeploymentList")
+            .size(revisions.length)
+            .total(total)
+            .items(new ArrayList<>());
+
+        for (int i = 0; i < revisions.length; i++) {
+            answer.addItemsItem(new ConnectorDeployment()
+                .id("d" + (i + 1))
+                .kind("ConnectorDeployment")
+                .metadata(new ConnectorDeploymentAllOfMetadata().resourceVersion(revisions[i])));
+        }
+
+        return answer;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static List<Long> revisions(Iterable<ConnectorDeployment> deployments) {
+        final List<ConnectorDeployment> items = new ArrayList<>();
+        deployments.forEach(items::add);
+
+        return items.stream()
+            .map(d -> d.getMetadata().getResourceVersion())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FleetManagerPageSizeTest {
+
+    @Test
+    void fixed() {
+        assertThat(new FleetManagerPageSize(0, 10, 500, Duration.ZERO).get()).isNull();
+
+        FleetManagerPageSize size = new FleetManagerPageSize(50, 10, 500, Duration.ZERO);
+        assertThat(size.isAdaptive()).isFalse();
+        assertThat(size.get()).isEqualTo(50);
+
+        size.update(Duration.ofSeconds(10), true);
+        assertThat(size.get()).isEqualTo(50);
+    }
+
+    @Test
+    void growWhileUnderTarget() {
+        FleetManagerPageSize size = new FleetManagerPageSize(0, 100, 200, Duration.ofSeconds(1));
+        assertThat(size.isAdaptive()).isTrue();
+        assertThat(size.get()).isEqualTo(100);
+
+        size.update(Duration.ofMillis(200), true);
+        assertThat(size.get()).isEqualTo(125);
+
+        // a page that is not full would not benefit from a larger size
+        size.update(Duration.ofMillis(200), false);
+        assertThat(size.get()).isEqualTo(125);
+
+        size.update(Duration.ofMillis(200), true);
+        size.update(Duration.ofMillis(200), true);
+        size.update(Duration.ofMillis(200), true);
+        assertThat(size.get()).isEqualTo(200);
+    }
+
+    @Test
+    void shrinkWhenOverTarget() {
+        FleetManagerPageSize size = new FleetManagerPageSize(400, 100, 500, Duration.ofSeconds(1));
+        assertThat(size.get()).isEqualTo(400);
+
+        size.update(Duration.ofMillis(1500), true);
+        assertThat(size.get()).isEqualTo(200);
+
+        size.update(Duration.ofMillis(1500), false);
+        size.update(Duration.ofMillis(1500), false);
+        assertThat(size.get()).isEqualTo(100);
+    }
+}
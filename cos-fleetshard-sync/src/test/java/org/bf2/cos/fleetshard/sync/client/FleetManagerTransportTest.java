@@ -0,0 +1,227 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.client.Client;
+
+import org.bf2.cos.fleet.manager.api.ConnectorClustersAgentApi;
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentAllOfMetadata;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.rest.client.spi.RestClientListener;
+import org.jboss.resteasy.client.jaxrs.internal.ResteasyClientBuilderImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class FleetManagerTransportTest {
+    private static final String DEPLOYMENTS_PATH = "/api/connector_mgmt/v1/kafka_connector_clusters/c1/deployments";
+
+    private HttpServer server;
+    private FleetShardSyncConfig.Manager config;
+    private AtomicReference<String> acceptEncoding;
+    private AtomicBoolean compressed;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        acceptEncoding = new AtomicReference<>();
+        compressed = new AtomicBoolean();
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            respond(exchange, "text/plain", "hello".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext(DEPLOYMENTS_PATH, exchange -> {
+            respond(exchange, "application/json", Serialization.jsonMapper().writeValueAsBytes(page()));
+        });
+        server.start();
+
+        config = Mockito.mock(FleetShardSyncConfig.Manager.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.uri()).thenReturn(URI.create(uri()));
+        when(config.connectTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.readTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.transport().maxConnections()).thenReturn(4);
+        when(config.transport().keepAlive()).thenReturn(Duration.ofSeconds(60));
+        when(config.transport().leaseTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(config.transport().compression()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void connectionsAreReused() throws Exception {
+        try (FleetManagerTransport transport = new FleetManagerTransport(config)) {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            transport.registerMetrics(registry, "pool");
+
+            Client client = new ResteasyClientBuilderImpl().httpEngine(transport.getEngine()).build();
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(client.target(uri()).request().get(String.class)).isEqualTo("hello");
+            }
+
+            assertThat(transport.getCreated()).isEqualTo(1);
+            assertThat(registry.get("pool.leased").gauge().value()).isZero();
+            assertThat(registry.get("pool.available").gauge().value()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void noKeepAlive() throws Exception {
+        when(config.transport().keepAlive()).thenReturn(Duration.ZERO);
+
+        try (FleetManagerTransport transport = new FleetManagerTransport(config)) {
+            Client client = new ResteasyClientBuilderImpl().httpEngine(transport.getEngine()).build();
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(client.target(uri()).request().get(String.class)).isEqualTo("hello");
+            }
+
+            assertThat(transport.getCreated()).isEqualTo(3);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void compression(boolean enabled) throws Exception {
+        when(config.transport().compression()).thenReturn(enabled);
+
+        try (FleetManagerTransport transport = new FleetManagerTransport(config)) {
+            Client client = new ResteasyClientBuilderImpl().httpEngine(transport.getEngine()).build();
+
+            assertThat(client.target(uri()).request().get(String.class)).isEqualTo("hello");
+            assertThat(compressed.get()).isEqualTo(enabled);
+
+            if (enabled) {
+                assertThat(acceptEncoding.get()).contains("gzip");
+            } else {
+                assertThat(acceptEncoding.get()).satisfiesAnyOf(
+                    v -> assertThat(v).isNull(),
+                    v -> assertThat(v).doesNotContain("gzip"));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void restClientsUseTheTransport(boolean compression) throws Exception {
+        when(config.transport().compression()).thenReturn(compression);
+
+        try (FleetManagerTransport transport = new FleetManagerTransport(config)) {
+            final ConnectorClustersAgentApi controlPlane = withoutRestClientListeners(
+                () -> FleetManagerClient.newRestClientBuilder(config, transport).build(ConnectorClustersAgentApi.class));
+            final ConnectorDeploymentsStreamApi deploymentsStream = withoutRestClientListeners(
+                () -> FleetManagerClient.newRestClientBuilder(config, transport).build(ConnectorDeploymentsStreamApi.class));
+
+            assertThat(controlPlane.getClusterAsignedConnectorDeployments("c1", "1", "10", 0L, "false"))
+                .isEqualTo(page());
+            assertThat(compressed.get()).isEqualTo(compression);
+
+            try (InputStream in = deploymentsStream.getClusterAsignedConnectorDeployments("c1", "1", "10", 0L, "false")) {
+                assertThat(Serialization.jsonMapper().readValue(in, ConnectorDeploymentList.class)).isEqualTo(page());
+            }
+            assertThat(compressed.get()).isEqualTo(compression);
+
+            // both clients share the pooled connection
+            assertThat(transport.getCreated()).isEqualTo(1);
+        }
+    }
+
+    private void respond(HttpExchange exchange, String contentType, byte[] content) throws IOException {
+        final String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        final boolean gzip = encoding != null && encoding.contains("gzip");
+
+        byte[] body = content;
+
+        acceptEncoding.set(encoding);
+        compressed.set(gzip);
+
+        if (gzip) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+                out.write(body);
+            }
+
+            body = bos.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static ConnectorDeploymentList page() {
+        return new ConnectorDeploymentList()
+            .kind("ConnectorDeploymentList")
+            .page(1)
+            .size(1)
+            .total(1)
+            .items(List.of(new ConnectorDeployment()
+                .id("d1")
+                .kind("ConnectorDeployment")
+                .metadata(new ConnectorDeploymentAllOfMetadata().resourceVersion(1L))));
+    }
+
+    private String uri() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Build a REST client without the listeners registered by the Quarkus extensions, as they require a running
+     * application. Any other provider is discovered as in production.
+     */
+    private static <T> T withoutRestClientListeners(Callable<T> callable) throws Exception {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader tccl = thread.getContextClassLoader();
+
+        thread.setContextClassLoader(new ClassLoader(tccl) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                return name.equals("META-INF/services/" + RestClientListener.class.getName())
+                    ? Collections.emptyEnumeration()
+                    : super.getResources(name);
+            }
+        });
+
+        try {
+            return callable.call();
+        } finally {
+            thread.setContextClassLoader(tccl);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.bf2.cos.fleetshard.sync.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleetshard.api.ManagedConnectorCluster;
+import org.bf2.cos.fleetshard.api.ManagedConnectorClusterBuilder;
+import org.bf2.cos.fleetshard.support.resources.Clusters;
+import org.bf2.cos.fleetshard.support.resources.Secrets;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.when;
+
+@EnableKubernetesMockClient(crud = true)
+public class FleetShardClientTest {
+    private static final String NAMESPACE = "connectors";
+    private static final String CLUSTER_ID = "c1";
+
+    static KubernetesMockServer server;
+    static KubernetesClient kubernetesClient;
+
+    private FleetShardClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FleetShardSyncConfig config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().namespace()).thenReturn(NAMESPACE);
+        when(config.cluster().id()).thenReturn(CLUSTER_ID);
+
+        kubernetesClient.secrets().inNamespace(NAMESPACE).create(secret("d1"));
+
+        client = new FleetShardClient();
+        client.kubernetesClient = kubernetesClient;
+        client.config = config;
+        client.registry = new SimpleMeterRegistry();
+        client.start();
+        client.waitForSync(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.stop();
+
+        kubernetesClient.secrets().inNamespace(NAMESPACE).delete();
+        kubernetesClient.configMaps().inNamespace(NAMESPACE).delete();
+        kubernetesClient.resources(ManagedConnectorCluster.class).inNamespace(NAMESPACE).delete();
+    }
+
+    @Test
+    void secretsAreCachedWithoutData() {
+        assertThat(client.getSecret(deployment("d1"))).hasValueSatisfying(secret -> {
+            assertThat(secret.getMetadata().getName()).isEqualTo(Secrets.generateConnectorSecretId("d1"));
+            assertThat(secret.getMetadata().getManagedFields()).isNullOrEmpty();
+            assertThat(secret.getData()).isNullOrEmpty();
+        });
+
+        // the data is only retrieved from the API server on demand
+        assertThat(client.getSecretByDeploymentId("d1")).hasValueSatisfying(secret -> {
+            assertThat(secret.getData()).containsEntry("connector", Secrets.toBase64("{}"));
+        });
+
+        assertThat(client.getSecret(deployment("d2"))).isEmpty();
+        assertThat(client.getSecretByDeploymentId("d2")).isEmpty();
+    }
+
+    @Test
+    void secretsAreWatched() {
+        kubernetesClient.secrets().inNamespace(NAMESPACE).create(secret("d2"));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> client.getSecret(deployment("d2")).isPresent());
+
+        kubernetesClient.secrets().inNamespace(NAMESPACE).withName(Secrets.generateConnectorSecretId("d2")).delete();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> client.getSecret(deployment("d2")).isEmpty());
+    }
+
+    @Test
+    void cachedSecretsAreNotShared() {
+        client.getSecret(deployment("d1")).ifPresent(secret -> Secrets.set(secret, "foo", "bar"));
+
+        assertThat(client.getSecret(deployment("d1"))).hasValueSatisfying(secret -> {
+            assertThat(secret.getData()).isNullOrEmpty();
+        });
+    }
+
+    @Test
+    void updatesKeepDataEntriesNotSet() {
+        final Secret secret = client.getSecret(deployment("d1")).orElseThrow();
+        Secrets.set(secret, Secrets.SECRET_ENTRY_META, "{}");
+
+        client.createSecret(secret);
+
+        assertThat(client.getSecretByDeploymentId("d1")).hasValueSatisfying(s -> {
+            assertThat(s.getData())
+                .containsEntry(Secrets.SECRET_ENTRY_CONNECTOR, Secrets.toBase64("{}"))
+                .containsEntry(Secrets.SECRET_ENTRY_META, Secrets.toBase64("{}"));
+        });
+    }
+
+    @Test
+    void trimDoesNotModifyTheReceivedSecret() {
+        final Secret secret = secret("d1");
+        final Secret trimmed = ConnectorSecretStore.trim(secret);
+
+        assertThat(trimmed.getData()).isNull();
+        assertThat(trimmed.getMetadata().getManagedFields()).isNull();
+        assertThat(secret.getData()).isNotEmpty();
+        assertThat(secret.getMetadata().getManagedFields()).isNotEmpty();
+    }
+
+    @Test
+    void clusterIsCached() {
+        final ManagedConnectorCluster cluster = client.getOrCreateManagedConnectorCluster();
+
+        // once the informer has caught up, lookups do not hit the API server anymore
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            final int requests = server.getRequestCount();
+
+            assertThat(client.getConnectorCluster()).hasValueSatisfying(c -> {
+                assertThat(c.getMetadata().getUid()).isEqualTo(cluster.getMetadata().getUid());
+            });
+            assertThat(client.getOrCreateManagedConnectorCluster().getMetadata().getUid())
+                .isEqualTo(cluster.getMetadata().getUid());
+            assertThat(server.getRequestCount()).isEqualTo(requests);
+        });
+    }
+
+    @Test
+    void clusterIsRefreshedOnChange() {
+        client.getOrCreateManagedConnectorCluster();
+
+        cluster().edit(c -> new ManagedConnectorClusterBuilder(c)
+            .editMetadata()
+            .addToAnnotations("foo", "bar")
+            .endMetadata()
+            .build());
+
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            final int requests = server.getRequestCount();
+
+            assertThat(client.getConnectorCluster()).hasValueSatisfying(c -> {
+                assertThat(c.getMetadata().getAnnotations()).containsEntry("foo", "bar");
+            });
+            assertThat(server.getRequestCount()).isEqualTo(requests);
+        });
+    }
+
+    @Test
+    void clusterIsReCreatedOnDelete() {
+        final ManagedConnectorCluster cluster = client.getOrCreateManagedConnectorCluster();
+
+        client.updateCheckpoint(Map.of("foo", "bar"));
+        assertThat(checkpointOwner()).isEqualTo(cluster.getMetadata().getUid());
+
+        cluster().delete();
+
+        // the cluster is re-created, and the checkpoint owned by it, by the writes following the deletion
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() -> {
+            client.updateCheckpoint(Map.of("foo", "bar"));
+
+            final ManagedConnectorCluster recreated = cluster().get();
+
+            assertThat(recreated).isNotNull();
+            assertThat(recreated.getMetadata().getUid()).isNotEqualTo(cluster.getMetadata().getUid());
+            assertThat(checkpointOwner()).isEqualTo(recreated.getMetadata().getUid());
+        });
+    }
+
+    private static Resource<ManagedConnectorCluster> cluster() {
+        return kubernetesClient.resources(ManagedConnectorCluster.class)
+            .inNamespace(NAMESPACE)
+            .withName(Clusters.CONNECTOR_CLUSTER_PREFIX + "-" + CLUSTER_ID);
+    }
+
+    private String checkpointOwner() {
+        return kubernetesClient.configMaps()
+            .inNamespace(NAMESPACE)
+            .withName(client.getCheckpointName())
+            .get()
+            .getMetadata()
+            .getOwnerReferences()
+            .get(0)
+            .getUid();
+    }
+
+    private static ConnectorDeployment deployment(String deploymentId) {
+        return new ConnectorDeployment().id(deploymentId);
+    }
+
+    private static Secret secret(String deploymentId) {
+        final Secret secret = Secrets.newSecret(
+            Secrets.generateConnectorSecretId(deploymentId),
+            CLUSTER_ID,
+            "cid",
+            deploymentId,
+            1L,
+            Map.of());
+
+        return new SecretBuilder(Secrets.set(secret, Secrets.SECRET_ENTRY_CONNECTOR, "{}"))
+            .editMetadata()
+            .withNamespace(NAMESPACE)
+            .addToManagedFields(new ManagedFieldsEntryBuilder()
+                .withManager("cos-fleetshard-sync")
+                .withOperation("Update")
+                .build())
+            .endMetadata()
+            .build();
+    }
+}
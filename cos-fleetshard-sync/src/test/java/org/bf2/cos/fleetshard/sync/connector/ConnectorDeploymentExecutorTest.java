@@ -0,0 +1,163 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.bf2.cos.fleetshard.sync.connector.ConnectorTestSupport.createDeployment;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+public class ConnectorDeploymentExecutorTest {
+    private ConnectorDeploymentExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        FleetShardSyncConfig config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().provisioner().workers()).thenReturn(4);
+
+        executor = new ConnectorDeploymentExecutor();
+        executor.config = config;
+        executor.registry = new SimpleMeterRegistry();
+        executor.provisioner = Mockito.mock(ConnectorDeploymentProvisioner.class);
+        executor.retries = new ConnectorDeploymentRetryQueue();
+        executor.retries.config = config;
+        executor.retries.registry = executor.registry;
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void revisionsAreProvisionedInOrder() {
+        final List<String> provisioned = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> {
+            ConnectorDeployment deployment = invocation.getArgument(0);
+            provisioned.add(deployment.getId() + ":" + deployment.getMetadata().getResourceVersion());
+            return true;
+        }).when(executor.provisioner).provision(any(ConnectorDeployment.class));
+
+        executor.start();
+        executor.provision(List.of(
+            createDeployment(1, d -> d.setId("d1")),
+            createDeployment(2, d -> d.setId("d2")),
+            createDeployment(3, d -> d.setId("d1")),
+            createDeployment(4, d -> d.setId("d2")),
+            createDeployment(5, d -> d.setId("d1"))));
+
+        assertThat(provisioned)
+            .hasSize(5)
+            .filteredOn(e -> e.startsWith("d1:"))
+            .containsExactly("d1:1", "d1:3", "d1:5");
+        assertThat(provisioned)
+            .filteredOn(e -> e.startsWith("d2:"))
+            .containsExactly("d2:2", "d2:4");
+        assertThat(executor.getInFlight())
+            .isZero();
+    }
+
+    @Test
+    void deploymentsAreProvisionedConcurrently() {
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        doAnswer(invocation -> {
+            latch.countDown();
+
+            // all the deployments must be in flight at the same time to release the latch
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            return true;
+        }).when(executor.provisioner).provision(any(ConnectorDeployment.class));
+
+        executor.start();
+        executor.provision(List.of(
+            createDeployment(1, d -> d.setId("d1")),
+            createDeployment(2, d -> d.setId("d2")),
+            createDeployment(3, d -> d.setId("d3"))));
+
+        assertThat(latch.getCount()).isZero();
+        assertThat(executor.getInFlight()).isZero();
+    }
+
+    @Test
+    void failuresDoNotStopOtherDeployments() {
+        final List<String> provisioned = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> {
+            ConnectorDeployment deployment = invocation.getArgument(0);
+            if ("d1".equals(deployment.getId())) {
+                throw new IllegalArgumentException("boom");
+            }
+
+            provisioned.add(deployment.getId());
+            return true;
+        }).when(executor.provisioner).provision(any(ConnectorDeployment.class));
+
+        executor.start();
+
+        assertThatThrownBy(() -> executor.provision(List.of(
+            createDeployment(1, d -> d.setId("d1")),
+            createDeployment(2, d -> d.setId("d2")))))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(provisioned).containsExactly("d2");
+    }
+
+    @Test
+    void failedDeploymentsAreParked() {
+        when(executor.config.connectors().provisioner().retry().maxAttempts()).thenReturn(2);
+        when(executor.config.connectors().provisioner().retry().initialBackoff()).thenReturn(Duration.ZERO);
+        when(executor.config.connectors().provisioner().retry().maxBackoff()).thenReturn(Duration.ZERO);
+
+        final List<String> provisioned = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger failures = new AtomicInteger(1);
+
+        doAnswer(invocation -> {
+            ConnectorDeployment deployment = invocation.getArgument(0);
+            if ("d1".equals(deployment.getId()) && failures.getAndDecrement() > 0) {
+                throw new IllegalArgumentException("boom");
+            }
+
+            provisioned.add(deployment.getId());
+            return true;
+        }).when(executor.provisioner).provision(any(ConnectorDeployment.class));
+
+        executor.start();
+
+        // the failure does not abort the batch
+        executor.provision(List.of(
+            createDeployment(1, d -> d.setId("d1")),
+            createDeployment(2, d -> d.setId("d2"))));
+
+        assertThat(provisioned).containsExactly("d2");
+        assertThat(executor.retries.list()).singleElement().satisfies(e -> {
+            assertThat(e.getDeploymentId()).isEqualTo("d1");
+            assertThat(e.getAttempts()).isEqualTo(1);
+            assertThat(e.getError()).isEqualTo("boom");
+        });
+
+        executor.retry();
+
+        assertThat(provisioned).containsExactly("d2", "d1");
+        assertThat(executor.retries.size()).isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectorDeploymentPollIntervalTest {
+    private FleetShardSyncConfig config;
+    private ConnectorDeploymentPollInterval interval;
+
+    @BeforeEach
+    void setUp() {
+        config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().pollInterval()).thenReturn(Duration.ofSeconds(10));
+        when(config.connectors().poll().maxInterval()).thenReturn(Duration.ofSeconds(60));
+        when(config.connectors().poll().multiplier()).thenReturn(2.0);
+        when(config.connectors().poll().jitter()).thenReturn(0.1);
+
+        interval = new ConnectorDeploymentPollInterval();
+        interval.config = config;
+        interval.scheduler = Mockito.mock(FleetShardSyncScheduler.class);
+        interval.registry = new SimpleMeterRegistry();
+        interval.start();
+    }
+
+    @Test
+    void backOffWhileNothingChanges() throws Exception {
+        assertThat(interval.getInterval()).isEqualTo(Duration.ofSeconds(10));
+
+        interval.update(false);
+        assertThat(interval.getInterval()).isEqualTo(Duration.ofSeconds(20));
+
+        interval.update(false);
+        interval.update(false);
+        assertThat(interval.getInterval()).isEqualTo(Duration.ofSeconds(60));
+
+        interval.update(false);
+        assertThat(interval.getInterval()).isEqualTo(Duration.ofSeconds(60));
+
+        interval.update(true);
+        assertThat(interval.getInterval()).isEqualTo(Duration.ofSeconds(10));
+
+        // the job is only rescheduled when the interval changes
+        verify(interval.scheduler, times(4)).reschedule(eq(ConnectorDeploymentSync.PollJob.ID), any(Duration.class));
+    }
+
+    @Test
+    void jitter() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(interval.jitter(10_000)).isBetween(9_000L, 11_000L);
+        }
+
+        assertThat(interval.jitter(0)).isZero();
+    }
+}
@@ -0,0 +1,177 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentList;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.client.FleetManagerClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bf2.cos.fleetshard.sync.connector.ConnectorTestSupport.createDeployment;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectorDeploymentResyncTest {
+    private static final int DEPLOYMENTS = 5;
+    private static final int SLICE_SIZE = 2;
+
+    private FleetShardSyncConfig config;
+    private ConnectorDeploymentResync resync;
+    private List<String> provisioned;
+
+    @BeforeEach
+    void setUp() {
+        config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().provisioner().workers()).thenReturn(1);
+        when(config.connectors().pollInterval()).thenReturn(Duration.ofSeconds(15));
+        when(config.connectors().resyncInterval()).thenReturn(Duration.ZERO);
+        when(config.connectors().resync().sliced()).thenReturn(true);
+        when(config.connectors().resync().sliceSize()).thenReturn(SLICE_SIZE);
+        when(config.connectors().resync().writesPerSecond()).thenReturn(0.0);
+
+        provisioned = new ArrayList<>();
+
+        resync = new ConnectorDeploymentResync();
+        resync.config = config;
+        resync.registry = new SimpleMeterRegistry();
+        resync.queue = Mockito.mock(ConnectorDeploymentQueue.class);
+        resync.fleetManager = Mockito.mock(FleetManagerClient.class);
+        resync.provisioner = Mockito.mock(ConnectorDeploymentExecutor.class);
+        resync.checkpoint = Mockito.mock(ConnectorSyncCheckpoint.class);
+
+        when(resync.fleetManager.getDeploymentsPage(anyLong(), anyInt())).then(invocation -> {
+            long gv = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+
+            // deployment di has resource version i + 1
+            List<ConnectorDeployment> items = new ArrayList<>();
+            for (int i = (int) gv; i < Math.min(gv + size, DEPLOYMENTS); i++) {
+                final String id = "d" + i;
+                items.add(createDeployment(i + 1, d -> d.setId(id)));
+            }
+
+            return new ConnectorDeploymentList().page(1).size(size).total(DEPLOYMENTS - (int) gv).items(items);
+        });
+
+        doAnswer(invocation -> {
+            Collection<ConnectorDeployment> deployments = invocation.getArgument(0);
+            provisioned.addAll(deployments.stream().map(ConnectorDeployment::getId).collect(Collectors.toList()));
+            return null;
+        }).when(resync.provisioner).provision(any());
+
+        resync.start();
+    }
+
+    @Test
+    void resyncIsSliced() {
+        assertThat(resync.getNextSliceDelay()).isEqualTo(Long.MAX_VALUE);
+
+        resync.request();
+        assertThat(resync.getNextSliceDelay()).isZero();
+
+        resync.step();
+        assertThat(provisioned).containsExactly("d0", "d1");
+
+        resync.step();
+        assertThat(provisioned).containsExactly("d0", "d1", "d2", "d3");
+        verify(resync.checkpoint, never()).resynced();
+
+        resync.step();
+        assertThat(provisioned).containsExactly("d0", "d1", "d2", "d3", "d4");
+        verify(resync.checkpoint, times(1)).resynced();
+
+        // the re-sync has completed
+        assertThat(resync.getNextSliceDelay()).isEqualTo(Long.MAX_VALUE);
+
+        resync.step();
+        assertThat(provisioned).hasSize(DEPLOYMENTS);
+
+        // pages are requested after the highest resource version of the previous page
+        verify(resync.fleetManager).getDeploymentsPage(0L, SLICE_SIZE);
+        verify(resync.fleetManager).getDeploymentsPage(2L, SLICE_SIZE);
+        verify(resync.fleetManager).getDeploymentsPage(4L, SLICE_SIZE);
+    }
+
+    @Test
+    void slicesAreSpreadOverTheInterval() {
+        when(config.connectors().resyncInterval()).thenReturn(Duration.ofSeconds(60));
+
+        resync.request();
+        resync.step();
+
+        assertThat(provisioned).containsExactly("d0", "d1");
+
+        // 3 pages over 60 seconds, the next one is due in ~20 seconds
+        assertThat(resync.getNextSliceDelay()).isBetween(19_000L, 20_000L);
+
+        resync.step();
+        assertThat(provisioned).hasSize(SLICE_SIZE);
+    }
+
+    @Test
+    void pollsTakePrecedence() {
+        when(resync.queue.size()).thenReturn(1);
+
+        resync.request();
+        resync.step();
+
+        assertThat(provisioned).isEmpty();
+        assertThat(resync.getNextSliceDelay()).isZero();
+
+        when(resync.queue.size()).thenReturn(0);
+
+        resync.step();
+        assertThat(provisioned).containsExactly("d0", "d1");
+    }
+
+    @Test
+    void resyncCompletesOnceTheLastPageIsProvisioned() {
+        when(config.connectors().resync().sliceSize()).thenReturn(DEPLOYMENTS);
+        when(resync.queue.size()).thenReturn(0, 1);
+
+        resync.request();
+        resync.step();
+
+        // the last page has been fetched but a poll interrupted the slice
+        assertThat(provisioned).containsExactly("d0");
+        verify(resync.checkpoint, never()).resynced();
+
+        when(resync.queue.size()).thenReturn(0);
+
+        resync.step();
+        assertThat(provisioned).hasSize(DEPLOYMENTS);
+        verify(resync.checkpoint, times(1)).resynced();
+        assertThat(resync.getNextSliceDelay()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void writesAreThrottled() {
+        when(config.connectors().resync().writesPerSecond()).thenReturn(1.0);
+        when(config.connectors().provisioner().workers()).thenReturn(1);
+
+        resync.start();
+        resync.request();
+        resync.step();
+
+        // the bucket holds a single token, so the second deployment has to wait for the bucket to refill
+        assertThat(provisioned).containsExactly("d0");
+        assertThat(resync.getNextSliceDelay()).isBetween(1L, 1_000L);
+    }
+}
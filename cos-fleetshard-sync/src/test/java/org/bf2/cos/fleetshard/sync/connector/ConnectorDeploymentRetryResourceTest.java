@@ -0,0 +1,46 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.util.List;
+
+import javax.ws.rs.NotFoundException;
+
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.client.utils.Serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectorDeploymentRetryResourceTest {
+    private ConnectorDeploymentRetryResource resource;
+
+    @BeforeEach
+    void setUp() {
+        resource = new ConnectorDeploymentRetryResource();
+        resource.config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        resource.retries = Mockito.mock(ConnectorDeploymentRetryQueue.class);
+
+        when(resource.retries.list()).thenReturn(List.of());
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThatThrownBy(() -> resource.list())
+            .isInstanceOf(NotFoundException.class);
+
+        verify(resource.retries, never()).list();
+    }
+
+    @Test
+    void enabled() {
+        when(resource.config.connectors().provisioner().retry().debug()).thenReturn(true);
+
+        assertThat(resource.list()).isEqualTo(Serialization.asJson(List.of()));
+    }
+}
@@ -27,6 +27,8 @@ import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_DEPLOYMEN
 import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_DEPLOYMENT_RESOURCE_VERSION;
 import static org.bf2.cos.fleetshard.support.resources.Resources.LABEL_UOW;
 import static org.bf2.cos.fleetshard.sync.connector.ConnectorTestSupport.createDeployment;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class ConnectorProvisionerTest {
@@ -340,4 +342,60 @@ public class ConnectorProvisionerTest {
             });
         });
     }
+
+    @Test
+    void skipUnchangedResources() {
+        //
+        // Given that the resources associated to the provided deployment have been provisioned
+        //
+        final ConnectorDeployment deployment = createDeployment(0);
+
+        final FleetShardClient fleetShard = ConnectorTestSupport.fleetShard(CLUSTER_ID, List.of(), List.of());
+        final ConnectorDeploymentProvisioner provisioner = new ConnectorDeploymentProvisioner(fleetShard);
+
+        assertThat(provisioner.provision(deployment)).isTrue();
+
+        //
+        // When the same deployment is applied again
+        //
+        assertThat(provisioner.provision(deployment)).isFalse();
+
+        //
+        // Then resources must not be written again
+        //
+        verify(fleetShard, times(1)).createSecret(any(Secret.class));
+        verify(fleetShard, times(1)).createConnector(any(ManagedConnector.class));
+
+        //
+        // Unless the deployment changes
+        //
+        deployment.getSpec().getKafka().setUrl("my-kafka.acme.com:218");
+
+        assertThat(provisioner.provision(deployment)).isTrue();
+
+        verify(fleetShard, times(2)).createSecret(any(Secret.class));
+        verify(fleetShard, times(2)).createConnector(any(ManagedConnector.class));
+    }
+
+    @Test
+    void skipOutdatedRevisions() {
+        //
+        // Given that the resources associated to the provided deployment have been provisioned
+        //
+        final FleetShardClient fleetShard = ConnectorTestSupport.fleetShard(CLUSTER_ID, List.of(), List.of());
+        final ConnectorDeploymentProvisioner provisioner = new ConnectorDeploymentProvisioner(fleetShard);
+
+        assertThat(provisioner.provision(createDeployment(2))).isTrue();
+
+        //
+        // When an older revision of the deployment is applied
+        //
+        assertThat(provisioner.provision(createDeployment(1))).isFalse();
+
+        //
+        // Then resources must not be rolled back
+        //
+        verify(fleetShard, times(1)).createSecret(any(Secret.class));
+        verify(fleetShard, times(1)).createConnector(any(ManagedConnector.class));
+    }
 }
@@ -0,0 +1,105 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+public class ConnectorStatusCacheTest {
+    private FleetShardSyncConfig config;
+    private ConnectorStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().status().cacheTtl()).thenReturn(Duration.ofMinutes(5));
+
+        cache = new ConnectorStatusCache();
+        cache.config = config;
+        cache.registry = new SimpleMeterRegistry();
+        cache.start();
+    }
+
+    @Test
+    void unchangedStatusIsSkipped() {
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isFalse();
+
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isTrue();
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("failed"))).isFalse();
+        assertThat(cache.isUnchanged("d2", new ConnectorDeploymentStatus().phase("ready"))).isFalse();
+
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void evictedStatusIsSent() {
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+        cache.evict("d1");
+
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isFalse();
+    }
+
+    @Test
+    void expiredStatusIsSent() {
+        when(config.connectors().status().cacheTtl()).thenReturn(Duration.ofSeconds(10));
+
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+
+        cache.clock = Clock.offset(Clock.systemUTC(), Duration.ofSeconds(5));
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isTrue();
+
+        cache.clock = Clock.offset(Clock.systemUTC(), Duration.ofSeconds(11));
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void disabledCacheSendsEveryStatus() {
+        when(config.connectors().status().cacheTtl()).thenReturn(Duration.ZERO);
+
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+
+        assertThat(cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"))).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void expiredEntriesArePurged() {
+        when(config.connectors().status().cacheTtl()).thenReturn(Duration.ofSeconds(10));
+
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+
+        cache.clock = Clock.offset(Clock.systemUTC(), Duration.ofSeconds(5));
+        cache.put("d2", new ConnectorDeploymentStatus().phase("ready"));
+
+        cache.clock = Clock.offset(Clock.systemUTC(), Duration.ofSeconds(11));
+        assertThat(cache.purge()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.isUnchanged("d2", new ConnectorDeploymentStatus().phase("ready"))).isTrue();
+    }
+
+    @Test
+    void hitsAndMissesAreCounters() {
+        cache.put("d1", new ConnectorDeploymentStatus().phase("ready"));
+        cache.isUnchanged("d1", new ConnectorDeploymentStatus().phase("ready"));
+        cache.isUnchanged("d2", new ConnectorDeploymentStatus().phase("ready"));
+
+        assertThat(cache.registry.get("cos.fleetshard.sync.connectors.status.cache.hits").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(cache.registry.get("cos.fleetshard.sync.connectors.status.cache.misses").functionCounter().count())
+            .isEqualTo(1);
+    }
+}
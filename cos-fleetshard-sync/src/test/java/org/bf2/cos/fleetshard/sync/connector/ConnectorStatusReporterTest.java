@@ -0,0 +1,159 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.api.DeploymentSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorSpecBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorStatus;
+import org.bf2.cos.fleetshard.api.ManagedConnectorStatusBuilder;
+import org.bf2.cos.fleetshard.api.OperatorSelectorBuilder;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.eclipse.microprofile.context.ManagedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bf2.cos.fleetshard.api.ManagedConnector.DESIRED_STATE_READY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectorStatusReporterTest {
+    private ConnectorStatusReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        FleetShardSyncConfig config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().status().batchSize()).thenReturn(2);
+        when(config.connectors().status().batchWindow()).thenReturn(Duration.ZERO);
+
+        reporter = new ConnectorStatusReporter();
+        reporter.config = config;
+        reporter.registry = new SimpleMeterRegistry();
+        reporter.executor = ManagedExecutor.builder().build();
+        reporter.updater = Mockito.mock(ConnectorStatusUpdater.class);
+        reporter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reporter.executor.shutdownNow();
+    }
+
+    @Test
+    void statusIsReportedInBatches() {
+        when(reporter.updater.update(any(), any())).thenReturn(true);
+
+        reporter.report(connector("c1"));
+        verify(reporter.updater, times(0)).update(any(), any());
+
+        reporter.report(connector("c2"));
+        verify(reporter.updater, times(2)).update(any(), any());
+
+        reporter.report(connector("c3"));
+        reporter.flush();
+        verify(reporter.updater, times(3)).update(any(), any());
+
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.batch.size").summary().count())
+            .isEqualTo(2);
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.batch.size").summary().max())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void failedStatusIsRetried() {
+        final ManagedConnector c1 = connector("c1");
+        final ManagedConnector c2 = connector("c2");
+
+        when(reporter.updater.update(eq(c1), any())).thenReturn(false).thenReturn(true);
+        when(reporter.updater.update(eq(c2), any())).thenThrow(new IllegalStateException("boom")).thenReturn(true);
+
+        reporter.report(c1);
+        reporter.report(c2);
+
+        verify(reporter.updater, times(1)).update(eq(c1), any(ConnectorDeploymentStatus.class));
+        verify(reporter.updater, times(1)).update(eq(c2), any(ConnectorDeploymentStatus.class));
+
+        reporter.flush();
+
+        verify(reporter.updater, times(2)).update(eq(c1), any(ConnectorDeploymentStatus.class));
+        verify(reporter.updater, times(2)).update(eq(c2), any(ConnectorDeploymentStatus.class));
+
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.retried").counter().count())
+            .isEqualTo(2);
+
+        // nothing left to retry
+        reporter.flush();
+
+        verify(reporter.updater, times(4)).update(any(), any());
+    }
+
+    @Test
+    void failedStatusIsDroppedAfterMaxAttempts() {
+        when(reporter.config.connectors().status().maxAttempts()).thenReturn(3);
+
+        final ManagedConnector c1 = connector("c1");
+        final ManagedConnector c2 = connector("c2");
+
+        when(reporter.updater.update(eq(c1), any())).thenReturn(false);
+        when(reporter.updater.update(eq(c2), any())).thenReturn(true);
+
+        reporter.report(c1);
+        reporter.report(c2);
+
+        for (int i = 0; i < 5; i++) {
+            reporter.flush();
+        }
+
+        verify(reporter.updater, times(3)).update(eq(c1), any(ConnectorDeploymentStatus.class));
+        verify(reporter.updater, times(1)).update(eq(c2), any(ConnectorDeploymentStatus.class));
+
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.retried").counter().count())
+            .isEqualTo(2);
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.dropped").counter().count())
+            .isEqualTo(1);
+
+        // a new report of the connector, i.e. by the next re-sync, gets all its attempts again
+        reporter.report(c1);
+        for (int i = 0; i < 5; i++) {
+            reporter.flush();
+        }
+
+        verify(reporter.updater, times(6)).update(eq(c1), any(ConnectorDeploymentStatus.class));
+
+        assertThat(reporter.registry.get("cos.fleetshard.sync.connectors.status.dropped").counter().count())
+            .isEqualTo(2);
+    }
+
+    private static ManagedConnector connector(String name) {
+        return new ManagedConnectorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(name)
+                .build())
+            .withSpec(new ManagedConnectorSpecBuilder()
+                .withDeploymentId(name)
+                .withOperatorSelector(new OperatorSelectorBuilder()
+                    .withId("1")
+                    .build())
+                .build())
+            .withStatus(new ManagedConnectorStatusBuilder()
+                .withPhase(ManagedConnectorStatus.PhaseType.Monitor)
+                .withDeployment(new DeploymentSpecBuilder()
+                    .withDeploymentResourceVersion(1L)
+                    .withDesiredState(DESIRED_STATE_READY)
+                    .build())
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,113 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class ConnectorStatusResyncTest {
+    private FleetShardSyncConfig config;
+    private ConnectorStatusResync resync;
+    private List<ManagedConnector> connectors;
+
+    @BeforeEach
+    void setUp() {
+        config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().status().resyncInterval()).thenReturn(Duration.ofSeconds(60));
+        when(config.connectors().status().resync().maxRate()).thenReturn(1.0);
+
+        connectors = List.of(connector("c1"), connector("c2"), connector("c3"));
+
+        resync = new ConnectorStatusResync();
+        resync.config = config;
+        resync.registry = new SimpleMeterRegistry();
+        resync.connectorClient = Mockito.mock(FleetShardClient.class);
+
+        when(resync.connectorClient.getAllConnectors()).thenReturn(connectors);
+        when(resync.connectorClient.getConnectorByName(anyString())).then(invocation -> {
+            String name = invocation.getArgument(0);
+            return connectors.stream().filter(c -> c.getMetadata().getName().equals(name)).findFirst();
+        });
+
+        resync.start();
+    }
+
+    @Test
+    void rateIsSpreadOverTheInterval() {
+        assertThat(resync.rate(60)).isEqualTo(1.0);
+        assertThat(resync.rate(30)).isEqualTo(0.5);
+        // capped to the max rate
+        assertThat(resync.rate(600)).isEqualTo(1.0);
+    }
+
+    @Test
+    void pushesAreThrottled() {
+        List<String> reported = new ArrayList<>();
+
+        resync.request();
+        assertThat(resync.size()).isEqualTo(3);
+
+        resync.dispatch(c -> reported.add(c.getMetadata().getName()));
+
+        // the bucket only holds a single permit
+        assertThat(reported).containsExactly("c1");
+        assertThat(resync.size()).isEqualTo(2);
+
+        resync.dispatch(c -> reported.add(c.getMetadata().getName()));
+        assertThat(reported).containsExactly("c1");
+
+        assertThat(resync.registry.get("cos.fleetshard.sync.connectors.status.resync.wait").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void reportedConnectorsAreRemoved() {
+        resync.request();
+        resync.remove("c1");
+        resync.remove("c2");
+
+        List<ManagedConnector> reported = new ArrayList<>();
+        resync.dispatch(reported::add);
+
+        assertThat(reported.stream().map(c -> c.getMetadata().getName()).collect(Collectors.toList()))
+            .containsExactly("c3");
+        assertThat(resync.size()).isZero();
+    }
+
+    @Test
+    void deletedConnectorsDoNotConsumePermits() {
+        resync.request();
+
+        when(resync.connectorClient.getConnectorByName("c1")).thenReturn(Optional.empty());
+
+        List<ManagedConnector> reported = new ArrayList<>();
+        resync.dispatch(reported::add);
+
+        assertThat(reported.stream().map(c -> c.getMetadata().getName()).collect(Collectors.toList()))
+            .containsExactly("c2");
+    }
+
+    private static ManagedConnector connector(String name) {
+        return new ManagedConnectorBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .endMetadata()
+            .build();
+    }
+}
@@ -0,0 +1,233 @@
+package org.bf2.cos.fleetshard.sync.connector;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.bf2.cos.fleet.manager.model.ConnectorDeployment;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentAllOfMetadata;
+import org.bf2.cos.fleet.manager.model.ConnectorDeploymentStatus;
+import org.bf2.cos.fleetshard.api.ManagedConnector;
+import org.bf2.cos.fleetshard.api.ManagedConnectorBuilder;
+import org.bf2.cos.fleetshard.api.ManagedConnectorSpecBuilder;
+import org.bf2.cos.fleetshard.support.metrics.MetricsRecorder;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncConfig;
+import org.bf2.cos.fleetshard.sync.FleetShardSyncScheduler;
+import org.bf2.cos.fleetshard.sync.client.FleetShardClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.fabric8.kubernetes.api.model.ObjectMetaBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectorSyncCheckpointTest {
+    private ConnectorSyncCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        FleetShardSyncConfig config = Mockito.mock(FleetShardSyncConfig.class, Mockito.RETURNS_DEEP_STUBS);
+        when(config.metrics().baseName()).thenReturn("cos.fleetshard.sync");
+        when(config.connectors().checkpoint().enabled()).thenReturn(true);
+        when(config.connectors().provisioner().retry().maxAttempts()).thenReturn(5);
+        when(config.connectors().provisioner().retry().initialBackoff()).thenReturn(Duration.ofSeconds(10));
+        when(config.connectors().provisioner().retry().maxBackoff()).thenReturn(Duration.ofSeconds(300));
+
+        checkpoint = new ConnectorSyncCheckpoint();
+        checkpoint.config = config;
+        checkpoint.registry = new SimpleMeterRegistry();
+        checkpoint.connectorClient = Mockito.mock(FleetShardClient.class);
+        checkpoint.retries = new ConnectorDeploymentRetryQueue();
+        checkpoint.retries.config = config;
+        checkpoint.retries.registry = checkpoint.registry;
+    }
+
+    @Test
+    void writesAreBatched() {
+        checkpoint.provisioned(List.of(deployment("d1", 1), deployment("d2", 3)));
+        checkpoint.provisioned(List.of(deployment("d1", 2)));
+        checkpoint.statusPushed("d1", new ConnectorDeploymentStatus().phase("ready").resourceVersion(2L));
+
+        checkpoint.flush();
+        checkpoint.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> data = ArgumentCaptor.forClass(Map.class);
+        verify(checkpoint.connectorClient, times(1)).updateCheckpoint(data.capture());
+
+        assertThat(data.getValue()).containsEntry(ConnectorSyncCheckpoint.KEY_DEPLOYMENTS_REVISION, "3");
+        assertThat(data.getValue()).doesNotContainKey(ConnectorSyncCheckpoint.KEY_DEPLOYMENTS_RESYNC);
+        assertThat(data.getValue().get(ConnectorSyncCheckpoint.KEY_STATUS)).contains("\"d1\"");
+    }
+
+    @Test
+    void unchangedStatusIsNotWritten() {
+        ConnectorDeploymentStatus status = new ConnectorDeploymentStatus().phase("ready").resourceVersion(2L);
+
+        checkpoint.statusPushed("d1", status);
+        checkpoint.flush();
+        checkpoint.statusPushed("d1", status);
+        checkpoint.flush();
+
+        verify(checkpoint.connectorClient, times(1)).updateCheckpoint(anyMap());
+    }
+
+    @Test
+    void parkedRevisionsAreNotApplied() {
+        ConnectorDeployment failed = deployment("d2", 5);
+
+        checkpoint.retries.park(failed, new IllegalStateException("boom"));
+        checkpoint.provisioned(List.of(deployment("d1", 4), failed, deployment("d3", 7)));
+
+        assertThat(checkpoint.getDeploymentRevision()).isEqualTo(4);
+
+        checkpoint.retries.remove(failed);
+
+        assertThat(checkpoint.getDeploymentRevision()).isEqualTo(7);
+    }
+
+    @Test
+    void parkedDeploymentsAreRecoveredAfterRestart() {
+        ConnectorDeployment failed = deployment("d2", 5);
+
+        checkpoint.retries.park(failed, new IllegalStateException("boom"));
+        checkpoint.provisioned(List.of(deployment("d1", 4), failed, deployment("d3", 7)));
+
+        // the parked deployment is retried by the retry queue
+        assertThat(checkpoint.getPollRevision(7)).isEqualTo(7);
+
+        Map<String, String> data = checkpoint.toData(checkpoint.getDeploymentRevision());
+
+        // the retry queue does not survive a restart
+        ConnectorSyncCheckpoint restored = new ConnectorSyncCheckpoint();
+        restored.config = checkpoint.config;
+        restored.connectorClient = checkpoint.connectorClient;
+        restored.retries = new ConnectorDeploymentRetryQueue();
+        restored.retries.config = checkpoint.config;
+        restored.load(data);
+
+        ConnectorDeploymentSync.PollJob job = new ConnectorDeploymentSync.PollJob();
+        job.queue = Mockito.mock(ConnectorDeploymentQueue.class);
+        job.connectorClient = checkpoint.connectorClient;
+        job.checkpoint = restored;
+        job.recorder = MetricsRecorder.of(new SimpleMeterRegistry(), ConnectorDeploymentSync.PollJob.ID);
+
+        when(checkpoint.connectorClient.getMaxDeploymentResourceRevision()).thenReturn(7L);
+
+        // the first poll starts from the checkpoint so the parked deployment is fetched again
+        job.execute(null);
+        verify(job.queue).submit(4L);
+
+        restored.provisioned(List.of(failed, deployment("d3", 7)));
+
+        job.execute(null);
+        verify(job.queue).submit(7L);
+    }
+
+    @Test
+    void failedWritesAreRetried() {
+        Mockito.doThrow(new IllegalStateException("boom"))
+            .doNothing()
+            .when(checkpoint.connectorClient).updateCheckpoint(anyMap());
+
+        checkpoint.resynced();
+        checkpoint.flush();
+        checkpoint.flush();
+        checkpoint.flush();
+
+        verify(checkpoint.connectorClient, times(2)).updateCheckpoint(anyMap());
+    }
+
+    @Test
+    void restoreFromData() {
+        ConnectorDeploymentStatus status = new ConnectorDeploymentStatus().phase("ready").resourceVersion(2L);
+
+        checkpoint.provisioned(List.of(deployment("d1", 9)));
+        checkpoint.resynced();
+        checkpoint.statusPushed("d1", status);
+
+        Map<String, String> data = checkpoint.toData(checkpoint.getDeploymentRevision());
+
+        ConnectorSyncCheckpoint restored = new ConnectorSyncCheckpoint();
+        restored.config = checkpoint.config;
+        restored.retries = checkpoint.retries;
+        restored.connectorClient = checkpoint.connectorClient;
+        restored.load(data);
+
+        assertThat(restored.getDeploymentRevision()).isEqualTo(9);
+        assertThat(restored.getStatusRevision("d1")).hasValue(2L);
+        assertThat(restored.getStatusFingerprint("d1")).hasValue(ConnectorStatusCache.fingerprint(status));
+        assertThat(restored.getStatusRevision("d2")).isEmpty();
+
+        // a re-sync has just been performed, so the next one is deferred
+        assertThat(restored.getResyncDelay(Duration.ofSeconds(60))).isPositive();
+
+        // nothing changed since the checkpoint has been loaded
+        restored.flush();
+        verify(checkpoint.connectorClient, never()).updateCheckpoint(any());
+    }
+
+    @Test
+    void statusOfDeletedConnectorsArePrunedOnResync() {
+        ConnectorDeploymentStatus status = new ConnectorDeploymentStatus().phase("ready").resourceVersion(2L);
+
+        checkpoint.statusPushed("d1", status);
+        checkpoint.statusPushed("d2", status);
+
+        when(checkpoint.connectorClient.getAllConnectors()).thenReturn(List.of(connector("d1")));
+
+        checkpoint.resynced();
+
+        assertThat(checkpoint.getStatusRevision("d1")).hasValue(2L);
+        assertThat(checkpoint.getStatusRevision("d2")).isEmpty();
+    }
+
+    @Test
+    void writesAreCounted() throws Exception {
+        checkpoint.scheduler = Mockito.mock(FleetShardSyncScheduler.class);
+        checkpoint.start();
+        checkpoint.resynced();
+        checkpoint.flush();
+
+        assertThat(checkpoint.registry.get("cos.fleetshard.sync.connectors.checkpoint.writes").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void resyncDelay() {
+        assertThat(checkpoint.getResyncDelay(Duration.ofSeconds(60))).isZero();
+
+        checkpoint.load(Map.of(
+            ConnectorSyncCheckpoint.KEY_DEPLOYMENTS_RESYNC,
+            Instant.now().minusSeconds(120).toString()));
+
+        assertThat(checkpoint.getResyncDelay(Duration.ofSeconds(60))).isZero();
+    }
+
+    private static ManagedConnector connector(String deploymentId) {
+        return new ManagedConnectorBuilder()
+            .withMetadata(new ObjectMetaBuilder()
+                .withName(deploymentId)
+                .build())
+            .withSpec(new ManagedConnectorSpecBuilder()
+                .withDeploymentId(deploymentId)
+                .build())
+            .build();
+    }
+
+    private static ConnectorDeployment deployment(String id, long revision) {
+        return new ConnectorDeployment()
+            .id(id)
+            .metadata(new ConnectorDeploymentAllOfMetadata().resourceVersion(revision));
+    }
+}